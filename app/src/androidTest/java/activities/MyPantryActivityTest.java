@@ -37,8 +37,8 @@ import com.hermanowicz.pantry.activity.EditProductActivity;
 import com.hermanowicz.pantry.activity.MainActivity;
 import com.hermanowicz.pantry.activity.MyPantryActivity;
 import com.hermanowicz.pantry.activity.ProductDetailsActivity;
+import com.hermanowicz.pantry.db.AppDb;
 import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.db.product.ProductDb;
 
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
@@ -93,7 +93,7 @@ public class MyPantryActivityTest {
         insertTestProductsToDbAndRestartActivity();
         int recyclerViewItems = getCountFromRecyclerView(R.id.recyclerview_products);
         assertEquals(3, recyclerViewItems);
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
     }
 
     @Test
@@ -103,14 +103,14 @@ public class MyPantryActivityTest {
                 .perform(RecyclerViewActions.actionOnItemAtPosition(1, click()));
 
         intended(hasComponent(ProductDetailsActivity.class.getName()));
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
     }
 
     @Test
     public void onClickOnEditProductInProductDetailsShouldNavigateToEditProductActivity() throws InterruptedException {
         insertTestProductsToDbAndRestartActivity();
 
-        List<Product> productList = ProductDb.getInstance(activity).productsDao()
+        List<Product> productList = AppDb.getInstance(activity).productsDao()
                 .getAllProductsList();
 
         onView(withId(R.id.recyclerview_products))
@@ -142,14 +142,14 @@ public class MyPantryActivityTest {
         onView(withId(R.id.edittext_weight))
                 .check(matches(withText(productList.get(0).getWeight())));
 
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
     }
 
     @Test
     public void whenDatabaseHasProductsEmptyPantryStatementNotShows() {
         insertTestProductsToDbAndRestartActivity();
         assertEquals("", emptyPantryStatement.getText());
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
     }
 
     @Test
@@ -162,7 +162,7 @@ public class MyPantryActivityTest {
         Thread.sleep(300);
         int recyclerViewItems = getCountFromRecyclerView(R.id.recyclerview_products);
         assertEquals(1, recyclerViewItems);
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
     }
 
     @Test
@@ -175,7 +175,7 @@ public class MyPantryActivityTest {
         Thread.sleep(300);
         int recyclerViewItems = getCountFromRecyclerView(R.id.recyclerview_products);
         assertEquals(2, recyclerViewItems);
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
     }
 
     @Test
@@ -189,7 +189,7 @@ public class MyPantryActivityTest {
         Thread.sleep(300);
         int recyclerViewItems = getCountFromRecyclerView(R.id.recyclerview_products);
         assertEquals(2, recyclerViewItems);
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
     }
 
     @Test
@@ -202,7 +202,7 @@ public class MyPantryActivityTest {
         Thread.sleep(300);
         int recyclerViewItems = getCountFromRecyclerView(R.id.recyclerview_products);
         assertEquals(1, recyclerViewItems);
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
     }
 
     @Test
@@ -223,14 +223,14 @@ public class MyPantryActivityTest {
     }
 
     private void insertTestProductsToDbAndRestartActivity() {
-        ProductDb.getInstance(activity).productsDao().clearDb();
+        AppDb.getInstance(activity).productsDao().clearDb();
         List<Product> productList = new ArrayList<>();
         for (int counter = 0; 3 > counter; counter++) {
             productList.add(ProductTestModel.getTestProduct1());
             productList.add(ProductTestModel.getTestProduct2());
             productList.add(ProductTestModel.getTestProduct3());
         }
-        ProductDb.getInstance(activity).productsDao().addProducts(productList);
+        AppDb.getInstance(activity).productsDao().addProducts(productList);
         activityRule.finishActivity();
         activityRule.launchActivity(new Intent());
     }
@@ -30,8 +30,8 @@ import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.activity.MainActivity;
 import com.hermanowicz.pantry.activity.NewProductActivity;
 import com.hermanowicz.pantry.activity.PrintQRCodesActivity;
+import com.hermanowicz.pantry.db.AppDb;
 import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.db.product.ProductDb;
 
 import org.junit.After;
 import org.junit.Before;
@@ -194,6 +194,6 @@ public class NewProductActivityTest {
 
     @After
     public void tearDown(){
-        ProductDb.getInstance(activity.getApplicationContext()).productsDao().clearDb();
+        AppDb.getInstance(activity.getApplicationContext()).productsDao().clearDb();
     }
 }
\ No newline at end of file
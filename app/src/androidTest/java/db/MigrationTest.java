@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package db;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductGroupKey;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TEST_DB = "migration-test";
+    private static final String EXPIRATION_DATE = "2021-3-7";
+    private static final long EXPIRATION_EPOCH_DAY = 18693;
+
+    private final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(InstrumentationRegistry.getInstrumentation(),
+            AppDb.class.getCanonicalName(), new FrameworkSQLiteOpenHelperFactory());
+
+    @Test
+    public void doesMigrationFromVersion4KeepProducts() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 4);
+        insertVersion4Product(db, 1, "Milk", "a", null, null);
+        insertVersion4Product(db, 2, "Milk", "b", null, null);
+        insertVersion4Product(db, 3, "milk", "c", null, null);
+        insertVersion4Product(db, 4, "Milk", "d", null, "milk.jpg");
+        insertVersion4Product(db, 5, "Jam", "e", "Jams", null);
+        db.close();
+
+        for (int version = 5; 11 >= version; version++) {
+            db = helper.runMigrationsAndValidate(TEST_DB, version, true, AppDb.getMigrations(context));
+            if (11 > version)
+                db.close();
+        }
+
+        assertThat(queryLong(db, "SELECT COUNT(*) FROM products"), equalTo(4L));
+        assertThat(queryLong(db, "SELECT quantity FROM products WHERE id = 1"), equalTo(2L));
+        assertThat(queryLong(db, "SELECT quantity FROM products WHERE id = 3"), equalTo(1L));
+        assertThat(queryLong(db, "SELECT quantity FROM products WHERE id = 4"), equalTo(1L));
+        assertThat(queryLong(db, "SELECT quantity FROM products WHERE id = 5"), equalTo(1L));
+        assertThat(queryLong(db, "SELECT productId FROM product_labels WHERE id = 2"), equalTo(1L));
+        assertThat(queryString(db, "SELECT hashCode FROM product_labels WHERE id = 2"), equalTo("b"));
+
+        String groupKey = ProductGroupKey.generate(createProduct("Milk", null));
+        assertThat(queryString(db, "SELECT groupKey FROM products WHERE id = 1"), equalTo(groupKey));
+        assertThat(queryString(db, "SELECT groupKey FROM products WHERE id = 3"), not(equalTo(groupKey)));
+        assertThat(queryString(db, "SELECT groupKey FROM products WHERE id = 4"), equalTo(groupKey));
+
+        assertThat(queryLong(db, "SELECT expirationDate FROM products WHERE id = 1"), equalTo(EXPIRATION_EPOCH_DAY));
+        assertThat(queryLong(db, "SELECT COUNT(*) FROM products WHERE productionDate IS NULL"), equalTo(4L));
+        assertThat(queryString(db, "SELECT searchName FROM products WHERE id = 1"), equalTo("milk"));
+        assertThat(queryLong(db, "SELECT docid FROM products_fts WHERE products_fts MATCH 'jam'"), equalTo(5L));
+
+        db.execSQL("INSERT INTO categories (id, name) VALUES (1, 'Jams')");
+        assertThat(queryLong(db, "SELECT categoryId FROM products WHERE id = 5"), equalTo(1L));
+
+        db.execSQL("UPDATE products SET quantity = 3 WHERE id = 1");
+        assertThat(queryLong(db, "SELECT COUNT(*) FROM product_changes"), equalTo(0L));
+        db.close();
+    }
+
+    @Test
+    public void doesMigrationFromVersion7RebuildLinkedProducts() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 7);
+        db.execSQL("INSERT INTO categories (id, name) VALUES (1, 'Dairy')");
+        db.execSQL("INSERT INTO storage_locations (id, name) VALUES (1, 'Fridge')");
+        db.execSQL("INSERT INTO products (id, name, hashCode, productFeatures, storageLocation, expirationDate, " +
+                        "productionDate, volume, weight, quantity, hasSugar, hasSalt, isVege, isBio, groupKey, " +
+                        "categoryId, storageLocationId) VALUES (1, 'Milk', 'a', 'Dairy', 'Fridge', ?, '-', 0, 0, 3, " +
+                        "0, 0, 0, 0, 'old', 1, 1)",
+                new Object[]{EXPIRATION_DATE});
+        db.execSQL("CREATE TRIGGER categories_link_after_insert AFTER INSERT ON categories " +
+                "BEGIN UPDATE products SET categoryId = NEW.id " +
+                "WHERE categoryId IS NULL AND productFeatures = NEW.name; END");
+        db.execSQL("CREATE TRIGGER storage_locations_link_after_insert AFTER INSERT ON storage_locations " +
+                "BEGIN UPDATE products SET storageLocationId = NEW.id " +
+                "WHERE storageLocationId IS NULL AND storageLocation = NEW.name; END");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 8, true, AppDb.getMigrations(context));
+
+        Product product = createProduct("Milk", "Dairy");
+        product.setStorageLocation("Fridge");
+        assertThat(queryLong(db, "SELECT quantity FROM products WHERE id = 1"), equalTo(3L));
+        assertThat(queryLong(db, "SELECT expirationDate FROM products WHERE id = 1"), equalTo(EXPIRATION_EPOCH_DAY));
+        assertThat(queryString(db, "SELECT groupKey FROM products WHERE id = 1"),
+                equalTo(ProductGroupKey.generate(product)));
+        assertThat(queryLong(db, "SELECT categoryId FROM products WHERE id = 1"), equalTo(1L));
+        assertThat(queryLong(db, "SELECT storageLocationId FROM products WHERE id = 1"), equalTo(1L));
+        assertThat(queryLong(db, "SELECT COUNT(*) FROM sqlite_master WHERE type = 'trigger' " +
+                "AND name LIKE '%_link_after_%'"), equalTo(4L));
+
+        db.execSQL("INSERT INTO products (id, name, productFeatures, volume, weight, hasSugar, hasSalt, isVege, " +
+                "isBio) VALUES (2, 'Kefir', 'Dairy', 0, 0, 0, 0, 0, 0)");
+        assertThat(queryLong(db, "SELECT categoryId FROM products WHERE id = 2"), equalTo(1L));
+        db.close();
+    }
+
+    private static void insertVersion4Product(SupportSQLiteDatabase db, int id, String name, String hashCode,
+                                              String productFeatures, String photoName) {
+        db.execSQL("INSERT INTO products (id, name, hashCode, typeOfProduct, productFeatures, storageLocation, " +
+                        "expirationDate, productionDate, composition, healingProperties, dosage, volume, weight, " +
+                        "hasSugar, hasSalt, isVege, isBio, taste, photoName, photoDescription) " +
+                        "VALUES (?, ?, ?, NULL, ?, NULL, ?, '-', NULL, NULL, NULL, 0, 0, 0, 0, 0, 0, NULL, ?, NULL)",
+                new Object[]{id, name, hashCode, productFeatures, EXPIRATION_DATE, photoName});
+    }
+
+    private static Product createProduct(String name, String productFeatures) {
+        Product product = new Product();
+        product.setName(name);
+        product.setProductFeatures(productFeatures);
+        product.setExpirationDate(EXPIRATION_DATE);
+        product.setProductionDate("-");
+        return product;
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String query) {
+        try (Cursor cursor = db.query(query)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        }
+    }
+
+    private static String queryString(SupportSQLiteDatabase db, String query) {
+        try (Cursor cursor = db.query(query)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getString(0);
+        }
+    }
+}
@@ -28,8 +28,8 @@ import androidx.test.rule.GrantPermissionRule;
 import com.hermanowicz.pantry.activity.MainActivity;
 import com.hermanowicz.pantry.activity.ProductDetailsActivity;
 import com.hermanowicz.pantry.activity.ScanProductActivity;
+import com.hermanowicz.pantry.db.AppDb;
 import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.db.product.ProductDb;
 import com.hermanowicz.pantry.presenter.ScanProductPresenter;
 
 import org.junit.Before;
@@ -68,13 +68,13 @@ public class ScanProductPresenterTest {
 
     @Test
     public void onCorrectScanResultShouldNavigateToProductDetailsActivity() {
-        ProductDb productDb = Room.inMemoryDatabaseBuilder(activity.getApplicationContext(),
-                ProductDb.class).allowMainThreadQueries().build();
+        AppDb appDb = Room.inMemoryDatabaseBuilder(activity.getApplicationContext(),
+                AppDb.class).allowMainThreadQueries().build();
         List<Product> productList = new ArrayList<>();
 
         productList.add(ProductTestModel.getTestProduct1());
-        productDb.productsDao().addProducts(productList);
-        productList = productDb.productsDao().getAllProductsList();
+        appDb.productsDao().addProducts(productList);
+        productList = appDb.productsDao().getAllProductsList();
 
         String happyScenario = "{\"product_id\":" + productList.get(0).getId() + ",\"hash_code\":" + productList.get(0).getHashCode() + "}";
         activity.runOnUiThread(() -> presenter.onScanResult(happyScenario));
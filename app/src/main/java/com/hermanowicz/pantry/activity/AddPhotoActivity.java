@@ -52,7 +52,7 @@ import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.databinding.ActivityAddPhotoBinding;
 import com.hermanowicz.pantry.db.product.Product;
 import com.hermanowicz.pantry.interfaces.AddPhotoView;
-import com.hermanowicz.pantry.model.DatabaseOperations;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.presenter.AddPhotoPresenter;
 import com.hermanowicz.pantry.util.ImageRotation;
 import com.hermanowicz.pantry.util.Orientation;
@@ -105,7 +105,7 @@ public class AddPhotoActivity extends AppCompatActivity implements AddPhotoView
         List<Product> productList = (List<Product>) getIntent().getSerializableExtra("product_list");
         presenter = new AddPhotoPresenter(this);
         presenter.setActivity(this);
-        presenter.setDb(new DatabaseOperations(context));
+        presenter.setRepository(new PantryRepository(context));
         presenter.setProductList(productList);
 
         AdRequest adRequest = new AdRequest.Builder().build();
@@ -91,8 +91,7 @@ public class AppSettingsActivity extends AppCompatActivity {
         AppSettingsPresenter presenter;
         Preference selectedTheme, scanCamera, emailAddress, notificationDaysBefore,
                 emailNotifications, backupProductDb, restoreProductDb, clearProductDb,
-                backupCategoryDb, restoreCategoryDb, clearCategoryDb,
-                backupStorageLocationDb, restoreStorageLocationDb, clearStorageLocationDb, version;
+                clearCategoryDb, clearStorageLocationDb, version;
 
         @Override
         public void onCreate(final Bundle savedInstanceState)
@@ -114,11 +113,7 @@ public class AppSettingsActivity extends AppCompatActivity {
             restoreProductDb = findPreference(getString(R.string.PreferencesKey_restore_product_db));
             backupProductDb = findPreference(getString(R.string.PreferencesKey_backup_product_db));
             clearProductDb = findPreference(getString(R.string.PreferencesKey_clear_product_db));
-            restoreCategoryDb = findPreference(getString(R.string.PreferencesKey_restore_category_db));
-            backupCategoryDb = findPreference(getString(R.string.PreferencesKey_backup_category_db));
             clearCategoryDb = findPreference(getString(R.string.PreferencesKey_clear_category_db));
-            restoreStorageLocationDb = findPreference(getString(R.string.PreferencesKey_restore_storage_location_db));
-            backupStorageLocationDb = findPreference(getString(R.string.PreferencesKey_backup_storage_location_db));
             clearStorageLocationDb = findPreference(getString(R.string.PreferencesKey_clear_storage_location_db));
             version = findPreference(getString(R.string.PreferencesKey_version));
         }
@@ -137,27 +132,11 @@ public class AppSettingsActivity extends AppCompatActivity {
                 return false;
             });
 
-            backupCategoryDb.setOnPreferenceClickListener(preference -> {
-                presenter.onClickBackupCategoryDatabase();
-                return false;
-            });
-            restoreCategoryDb.setOnPreferenceClickListener(preference -> {
-                presenter.onClickRestoreCategoryDatabase();
-                return false;
-            });
             clearCategoryDb.setOnPreferenceClickListener(preference -> {
                 presenter.onClickClearCategoryDatabase();
                 return false;
             });
 
-            backupStorageLocationDb.setOnPreferenceClickListener(preference -> {
-                presenter.onClickBackupStorageLocationDatabase();
-                return false;
-            });
-            restoreStorageLocationDb.setOnPreferenceClickListener(preference -> {
-                presenter.onClickRestoreStorageLocationDatabase();
-                return false;
-            });
             clearStorageLocationDb.setOnPreferenceClickListener(preference -> {
                 presenter.onClickClearStorageLocationDatabase();
                 return false;
@@ -271,28 +250,6 @@ public class AppSettingsActivity extends AppCompatActivity {
                     .show();
         }
 
-        @Override
-        public void showDialogBackupCategoryDb() {
-            new AlertDialog.Builder(new ContextThemeWrapper(getContext(), R.style.AppThemeDialog))
-                    .setMessage(R.string.AppSettingsActivity_export_category_database)
-                    .setPositiveButton(android.R.string.yes, (dialog, which) ->
-                            presenter.backupCategoryDatabase(getContext()))
-                    .setNegativeButton(android.R.string.no, null)
-                    .setIcon(android.R.drawable.ic_dialog_alert)
-                    .show();
-        }
-
-        @Override
-        public void showDialogRestoreCategoryDb() {
-            new AlertDialog.Builder(new ContextThemeWrapper(getContext(), R.style.AppThemeDialog))
-                    .setMessage(R.string.AppSettingsActivity_import_category_database)
-                    .setPositiveButton(android.R.string.yes, (dialog, which) ->
-                            presenter.restoreCategoryDatabase(getContext()))
-                    .setNegativeButton(android.R.string.no, null)
-                    .setIcon(android.R.drawable.ic_dialog_alert)
-                    .show();
-        }
-
         @Override
         public void showDialogClearCategoryDb() {
             new AlertDialog.Builder(new ContextThemeWrapper(getContext(), R.style.AppThemeDialog))
@@ -304,28 +261,6 @@ public class AppSettingsActivity extends AppCompatActivity {
                     .show();
         }
 
-        @Override
-        public void showDialogBackupStorageLocationDb() {
-            new AlertDialog.Builder(new ContextThemeWrapper(getContext(), R.style.AppThemeDialog))
-                    .setMessage(R.string.AppSettingsActivity_export_storage_location_database)
-                    .setPositiveButton(android.R.string.yes, (dialog, which) ->
-                            presenter.backupStorageLocationDatabase(getContext()))
-                    .setNegativeButton(android.R.string.no, null)
-                    .setIcon(android.R.drawable.ic_dialog_alert)
-                    .show();
-        }
-
-        @Override
-        public void showDialogRestoreStorageLocationDb() {
-            new AlertDialog.Builder(new ContextThemeWrapper(getContext(), R.style.AppThemeDialog))
-                    .setMessage(R.string.AppSettingsActivity_import_storage_location_database)
-                    .setPositiveButton(android.R.string.yes, (dialog, which) ->
-                            presenter.restoreStorageLocationDatabase(getContext()))
-                    .setNegativeButton(android.R.string.no, null)
-                    .setIcon(android.R.drawable.ic_dialog_alert)
-                    .show();
-        }
-
         @Override
         public void showDialogClearStorageLocationDb() {
             new AlertDialog.Builder(new ContextThemeWrapper(getContext(), R.style.AppThemeDialog))
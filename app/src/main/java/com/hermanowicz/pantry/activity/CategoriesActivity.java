@@ -43,12 +43,11 @@ import com.google.android.gms.ads.MobileAds;
 import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.databinding.ActivityCategoriesBinding;
 import com.hermanowicz.pantry.db.category.Category;
-import com.hermanowicz.pantry.db.category.CategoryDb;
 import com.hermanowicz.pantry.dialog.NewCategoryDialog;
 import com.hermanowicz.pantry.interfaces.CategoryView;
 import com.hermanowicz.pantry.interfaces.DialogCategoryListener;
 import com.hermanowicz.pantry.model.CategoryModel;
-import com.hermanowicz.pantry.model.DatabaseOperations;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.presenter.CategoryPresenter;
 import com.hermanowicz.pantry.util.CategoriesAdapter;
 import com.hermanowicz.pantry.util.Orientation;
@@ -105,8 +104,7 @@ public class CategoriesActivity extends AppCompatActivity implements DialogCateg
         AdRequest adRequest = new AdRequest.Builder().build();
         adView.loadAd(adRequest);
 
-        DatabaseOperations databaseOperations = new DatabaseOperations(context);
-        presenter = new CategoryPresenter(this, new CategoryModel(databaseOperations));
+        presenter = new CategoryPresenter(this, new CategoryModel(new PantryRepository(context)));
         presenter.updateCategoryList();
 
         categoryRecyclerView.setAdapter(categoriesAdapter);
@@ -119,7 +117,7 @@ public class CategoriesActivity extends AppCompatActivity implements DialogCateg
         categoryRecyclerView.addOnItemTouchListener(new RecyclerClickListener(this, binding.recyclerviewCategories, new RecyclerClickListener.OnItemClickListener() {
             @Override
             public void onItemClick(View view, int position) {
-                List<Category> categoryList = CategoryDb.getInstance(context).categoryDao().getAllOwnCategories();
+                List<Category> categoryList = presenter.getCategoryList();
                 Intent intent = new Intent(context, CategoryDetailsActivity.class)
                         .putExtra("category_id", categoryList.get(position).getId());
                 startActivity(intent);
@@ -38,7 +38,7 @@ import com.hermanowicz.pantry.databinding.ActivityCategoryDetailsBinding;
 import com.hermanowicz.pantry.db.category.Category;
 import com.hermanowicz.pantry.interfaces.CategoryDetailsView;
 import com.hermanowicz.pantry.model.CategoryModel;
-import com.hermanowicz.pantry.model.DatabaseOperations;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.presenter.CategoryDetailsPresenter;
 import com.hermanowicz.pantry.util.Orientation;
 import com.hermanowicz.pantry.util.ThemeMode;
@@ -82,8 +82,7 @@ public class CategoryDetailsActivity extends AppCompatActivity implements Catego
 
         Intent categoryIntent = getIntent();
         categoryId = categoryIntent.getIntExtra("category_id", 0);
-        DatabaseOperations databaseOperations = new DatabaseOperations(context);
-        presenter = new CategoryDetailsPresenter(this, new CategoryModel(databaseOperations));
+        presenter = new CategoryDetailsPresenter(this, new CategoryModel(new PantryRepository(context)));
         presenter.setCategoryId(categoryId);
     }
 
@@ -123,7 +122,9 @@ public class CategoryDetailsActivity extends AppCompatActivity implements Catego
     }
 
     private void onClickUpdateCategory(){
-        Category category = presenter.getCategory(categoryId);
+        Category category = presenter.getCategory();
+        if(category == null)
+            return;
         category.setName(categoryName.getText().toString());
         category.setDescription(categoryDescription.getText().toString());
         presenter.updateCategory(category);
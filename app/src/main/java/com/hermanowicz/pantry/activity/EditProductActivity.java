@@ -156,10 +156,6 @@ public class EditProductActivity extends AppCompatActivity implements EditProduc
         ArrayAdapter<CharSequence> productTypeAdapter = ArrayAdapter.createFromResource(context, R.array.Product_type_of_product_array, R.layout.custom_spinner);
         binding.productEdit.spinnerProductType.setAdapter(productTypeAdapter);
 
-        productStorageLocationAdapter = new ArrayAdapter<>(context, R.layout.custom_spinner, presenter.getStorageLocationsArray());
-        productStorageLocationAdapter.notifyDataSetChanged();
-        productStorageLocation.setAdapter(productStorageLocationAdapter);
-
         productCategoryAdapter = ArrayAdapter.createFromResource(context, R.array.Product_choose_array, R.layout.custom_spinner);
         binding.productEdit.spinnerProductCategory.setAdapter(productCategoryAdapter);
         presenter.setProduct(productId);
@@ -272,6 +268,13 @@ public class EditProductActivity extends AppCompatActivity implements EditProduc
         productStorageLocation.setSelection(productStorageLocationSpinnerPosition);
     }
 
+    @Override
+    public void showStorageLocations(String[] storageLocationsArray) {
+        productStorageLocationAdapter = new ArrayAdapter<>(context, R.layout.custom_spinner, storageLocationsArray);
+        productStorageLocationAdapter.notifyDataSetChanged();
+        productStorageLocation.setAdapter(productStorageLocationAdapter);
+    }
+
     @Override
     public void showProductData(GroupProducts groupProducts) {
         DateHelper expirationDateString = new DateHelper(groupProducts.getProduct().getExpirationDate());
@@ -60,12 +60,12 @@ import com.hermanowicz.pantry.dialog.TasteFilterDialog;
 import com.hermanowicz.pantry.dialog.TypeOfProductFilterDialog;
 import com.hermanowicz.pantry.dialog.VolumeFilterDialog;
 import com.hermanowicz.pantry.dialog.WeightFilterDialog;
-import com.hermanowicz.pantry.filter.Filter;
+import com.hermanowicz.pantry.filter.FilterSet;
 import com.hermanowicz.pantry.interfaces.DeleteProductsDialogListener;
 import com.hermanowicz.pantry.interfaces.FilterDialogListener;
 import com.hermanowicz.pantry.interfaces.MyPantryView;
-import com.hermanowicz.pantry.model.GroupProducts;
 import com.hermanowicz.pantry.model.MyPantryModel;
+import com.hermanowicz.pantry.model.ProductGroupListItem;
 import com.hermanowicz.pantry.presenter.MyPantryPresenter;
 import com.hermanowicz.pantry.util.Notification;
 import com.hermanowicz.pantry.util.Orientation;
@@ -141,7 +141,6 @@ public class MyPantryActivity extends AppCompatActivity implements MyPantryView,
 
         presenter.setProductsLiveData();
         presenter.getProductLiveData().observe(this, productList -> presenter.setProductList(productList));
-        presenter.setAllProductsList();
         adapterProductRecyclerView = new ProductsAdapter(sharedPreferences);
         adapterProductRecyclerView.setData(presenter.getGroupProductsList());
         productRecyclerView.setAdapter(adapterProductRecyclerView);
@@ -158,7 +157,7 @@ public class MyPantryActivity extends AppCompatActivity implements MyPantryView,
                 if (presenter.getIsMultiSelect())
                     multiSelect(position);
                 else {
-                    List<GroupProducts> productList = presenter.getGroupProductsList();
+                    List<ProductGroupListItem> productList = presenter.getGroupProductsList();
                     Intent productDetailsActivityIntent = new Intent(context, ProductDetailsActivity.class)
                             .putExtra("product_id", productList.get(position).getProduct().getId())
                             .putExtra("hash_code", productList.get(position).getProduct().getHashCode());
@@ -199,10 +198,10 @@ public class MyPantryActivity extends AppCompatActivity implements MyPantryView,
             toolbar.startActionMode(actionModeCallback);
         if (actionMode != null) {
             presenter.addMultiSelectProduct(position);
-            if(presenter.getGroupsProductsSelectList().size() == 0)
+            if(presenter.getSelectedGroupKeys().size() == 0)
                 actionMode.finish();
             else
-                actionMode.setTitle(String.valueOf(presenter.getGroupsProductsSelectList().size()));
+                actionMode.setTitle(String.valueOf(presenter.getSelectedGroupKeys().size()));
         }
         updateSelectsRecyclerViewAdapter();
     }
@@ -278,18 +277,22 @@ public class MyPantryActivity extends AppCompatActivity implements MyPantryView,
 
     @Override
     public void updateSelectsRecyclerViewAdapter() {
-        adapterProductRecyclerView.setMultiSelectList(presenter.getGroupsProductsSelectList());
+        adapterProductRecyclerView.setSelectedGroupKeys(presenter.getSelectedGroupKeys());
         adapterProductRecyclerView.notifyDataSetChanged();
     }
 
     @Override
     public void updateProductsRecyclerViewAdapter() {
-        presenter.getProductLiveData().observe(this, productList -> presenter.setProductList(productList));
         adapterProductRecyclerView.setData(presenter.getGroupProductsList());
         adapterProductRecyclerView.notifyDataSetChanged();
         productRecyclerView.setAdapter(adapterProductRecyclerView);
     }
 
+    @Override
+    public void refreshProductsRecyclerViewAdapter() {
+        adapterProductRecyclerView.setData(presenter.getGroupProductsList());
+    }
+
     @Override
     public void onPrintProducts(@NonNull List<Product> productList) {
         Intent printQRCodesActivityIntent = new Intent(context, PrintQRCodesActivity.class)
@@ -307,8 +310,13 @@ public class MyPantryActivity extends AppCompatActivity implements MyPantryView,
     }
 
     @Override
-    public void setFilterName(String filterName) {
-        presenter.setFilterName(filterName);
+    public void setFilterName(String filterName, boolean isNameFuzzy) {
+        presenter.setFilterName(filterName, isNameFuzzy);
+    }
+
+    @Override
+    public void searchFilterName(String filterName, boolean isNameFuzzy) {
+        presenter.searchFilterName(filterName, isNameFuzzy);
     }
 
     @Override
@@ -342,7 +350,7 @@ public class MyPantryActivity extends AppCompatActivity implements MyPantryView,
     }
 
     @Override
-    public void setFilterProductFeatures(Filter.Set filterHasSugar, Filter.Set filterHasSalt, Filter.Set filterIsBio, Filter.Set filterIsVege) {
+    public void setFilterProductFeatures(FilterSet filterHasSugar, FilterSet filterHasSalt, FilterSet filterIsBio, FilterSet filterIsVege) {
         presenter.setFilterProductFeatures(filterHasSugar, filterHasSalt, filterIsBio, filterIsVege);
     }
 
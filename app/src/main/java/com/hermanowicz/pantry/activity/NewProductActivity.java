@@ -57,8 +57,8 @@ import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.databinding.ActivityNewProductBinding;
 import com.hermanowicz.pantry.db.product.Product;
 import com.hermanowicz.pantry.interfaces.NewProductView;
-import com.hermanowicz.pantry.model.DatabaseOperations;
 import com.hermanowicz.pantry.model.NewProductModel;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.presenter.NewProductPresenter;
 import com.hermanowicz.pantry.util.DateHelper;
 import com.hermanowicz.pantry.util.Notification;
@@ -158,14 +158,13 @@ NewProductActivity extends AppCompatActivity implements OnItemSelectedListener,
         productHealingProperties.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES);
         productDosage.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_FLAG_CAP_SENTENCES);
 
-        presenter = new NewProductPresenter(this, new NewProductModel(resources, new DatabaseOperations(context)));
+        presenter = new NewProductPresenter(this, new NewProductModel(resources, new PantryRepository(context)));
 
         productTypeAdapter = ArrayAdapter.createFromResource(context, R.array.Product_type_of_product_array, R.layout.custom_spinner);
         productType.setAdapter(productTypeAdapter);
         productCategoryAdapter = ArrayAdapter.createFromResource(context, R.array.Product_choose_array, R.layout.custom_spinner);
         productCategory.setAdapter(productCategoryAdapter);
-        productStorageLocationAdapter = new ArrayAdapter<>(context, R.layout.custom_spinner, presenter.getStorageLocationsArray());
-        productStorageLocation.setAdapter(productStorageLocationAdapter);
+        presenter.showStorageLocations();
 
     }
 
@@ -297,6 +296,12 @@ NewProductActivity extends AppCompatActivity implements OnItemSelectedListener,
         }
     }
 
+    @Override
+    public void showStorageLocations(String[] storageLocationsArray) {
+        productStorageLocationAdapter = new ArrayAdapter<>(context, R.layout.custom_spinner, storageLocationsArray);
+        productStorageLocation.setAdapter(productStorageLocationAdapter);
+    }
+
     @Override
     public void updateProductFeaturesAdapter(String productTypeSpinnerValue) {
         String[] productTypesArray = resources.getStringArray(R.array.Product_type_of_product_array);
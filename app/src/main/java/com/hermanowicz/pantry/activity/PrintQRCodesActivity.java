@@ -108,7 +108,6 @@ public class PrintQRCodesActivity extends AppCompatActivity implements PrintQRCo
 
         presenter.setActivity(this);
         presenter.setProductList(productList);
-        presenter.showQRCodeImage();
 
         setSupportActionBar(binding.toolbar);
         Objects.requireNonNull(getSupportActionBar()).setTitle(getString(R.string.PrintQRCodesActivity_print_qr_codes));
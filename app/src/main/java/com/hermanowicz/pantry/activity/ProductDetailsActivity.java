@@ -43,8 +43,8 @@ import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.databinding.ActivityProductDetailsBinding;
 import com.hermanowicz.pantry.db.product.Product;
 import com.hermanowicz.pantry.interfaces.ProductDetailsView;
-import com.hermanowicz.pantry.model.DatabaseOperations;
 import com.hermanowicz.pantry.model.GroupProducts;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.model.ProductDataModel;
 import com.hermanowicz.pantry.presenter.ProductDetailsPresenter;
 import com.hermanowicz.pantry.util.DateHelper;
@@ -128,14 +128,13 @@ public class ProductDetailsActivity extends AppCompatActivity implements Product
         setSupportActionBar(toolbar);
 
         presenter = new ProductDetailsPresenter(this, new ProductDataModel(context,
-                getResources()), new DatabaseOperations(context));
+                getResources()), new PantryRepository(context));
 
         Intent myPantryActivityIntent = getIntent();
         productId = myPantryActivityIntent.getIntExtra("product_id", 1);
         String hashCode = myPantryActivityIntent.getStringExtra("hash_code");
 
-        presenter.setProductId(productId);
-        presenter.showProductDetails(hashCode);
+        presenter.showProductDetails(productId, hashCode);
     }
 
     private void setListeners() {
@@ -37,8 +37,8 @@ import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.databinding.ActivityStorageLocationDetailsBinding;
 import com.hermanowicz.pantry.db.storagelocation.StorageLocation;
 import com.hermanowicz.pantry.interfaces.StorageLocationDetailsView;
-import com.hermanowicz.pantry.model.DatabaseOperations;
 import com.hermanowicz.pantry.model.StorageLocationModel;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.presenter.StorageLocationsDetailsPresenter;
 import com.hermanowicz.pantry.util.Orientation;
 import com.hermanowicz.pantry.util.ThemeMode;
@@ -82,8 +82,7 @@ public class StorageLocationDetailsActivity extends AppCompatActivity implements
 
         Intent categoryIntent = getIntent();
         storageLocationId = categoryIntent.getIntExtra("storage_location_id", 0);
-        DatabaseOperations databaseOperations = new DatabaseOperations(context);
-        presenter = new StorageLocationsDetailsPresenter(this, new StorageLocationModel(databaseOperations));
+        presenter = new StorageLocationsDetailsPresenter(this, new StorageLocationModel(new PantryRepository(context)));
         presenter.setStorageLocationId(storageLocationId);
     }
 
@@ -123,7 +122,9 @@ public class StorageLocationDetailsActivity extends AppCompatActivity implements
     }
 
     private void onClickUpdateStorageLocation(){
-        StorageLocation storageLocation = presenter.getStorageLocation(storageLocationId);
+        StorageLocation storageLocation = presenter.getStorageLocation();
+        if(storageLocation == null)
+            return;
         storageLocation.setName(storageLocationName.getText().toString());
         storageLocation.setDescription(storageLocationDescription.getText().toString());
         presenter.updateStorageLocation(storageLocation);
@@ -45,7 +45,7 @@ import com.hermanowicz.pantry.db.storagelocation.StorageLocation;
 import com.hermanowicz.pantry.dialog.NewStorageLocationDialog;
 import com.hermanowicz.pantry.interfaces.DialogStorageLocationListener;
 import com.hermanowicz.pantry.interfaces.StorageLocationView;
-import com.hermanowicz.pantry.model.DatabaseOperations;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.model.StorageLocationModel;
 import com.hermanowicz.pantry.presenter.StorageLocationPresenter;
 import com.hermanowicz.pantry.util.Orientation;
@@ -103,8 +103,7 @@ public class StorageLocationsActivity extends AppCompatActivity implements Dialo
         AdRequest adRequest = new AdRequest.Builder().build();
         adView.loadAd(adRequest);
 
-        DatabaseOperations databaseOperations = new DatabaseOperations(context);
-        presenter = new StorageLocationPresenter(this, new StorageLocationModel(databaseOperations));
+        presenter = new StorageLocationPresenter(this, new StorageLocationModel(new PantryRepository(context)));
         presenter.updateStorageLocationList();
 
         storageLocationRecyclerView.setAdapter(storageLocationsAdapter);
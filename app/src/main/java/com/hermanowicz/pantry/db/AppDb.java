@@ -0,0 +1,527 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.db;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.Database;
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.hermanowicz.pantry.db.category.Category;
+import com.hermanowicz.pantry.db.category.CategoryDao;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductChange;
+import com.hermanowicz.pantry.db.product.ProductFts;
+import com.hermanowicz.pantry.db.product.ProductGroupKey;
+import com.hermanowicz.pantry.db.product.ProductLabel;
+import com.hermanowicz.pantry.db.product.ProductsDao;
+import com.hermanowicz.pantry.db.storagelocation.StorageLocation;
+import com.hermanowicz.pantry.db.storagelocation.StorageLocationDao;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * <h1>AppDb</h1>
+ * Database class. Products, own categories and storage locations are stored in one database,
+ * so they can be joined and written in one transaction.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.0
+ */
+
+@Database(entities = {Product.class, ProductFts.class, ProductLabel.class, ProductChange.class, Category.class,
+        StorageLocation.class}, version = 11)
+public abstract class AppDb extends RoomDatabase {
+
+    public abstract ProductsDao productsDao();
+
+    public abstract CategoryDao categoryDao();
+
+    public abstract StorageLocationDao storageLocationDao();
+
+    private static final String DATABASE_NAME = "ProductDb.db";
+    private static final String LEGACY_CATEGORY_DATABASE_NAME = "CategoryDb.db";
+    private static final String LEGACY_STORAGE_LOCATION_DATABASE_NAME = "StorageLocationDb.db";
+
+    private static AppDb INSTANCE;
+    private static final Object sLock = new Object();
+
+    public static AppDb getInstance(Context context) {
+        synchronized (sLock) {
+            if (INSTANCE == null) {
+                Context applicationContext = context.getApplicationContext();
+                INSTANCE = Room.databaseBuilder(applicationContext,
+                        AppDb.class, DATABASE_NAME)
+                        .addCallback(new Callback() {
+                            @Override
+                            public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                                super.onCreate(db);
+                                importLegacyDatabases(applicationContext, db);
+                                createLinkTriggers(db);
+                            }
+
+                            @Override
+                            public void onOpen(@NonNull SupportSQLiteDatabase db) {
+                                super.onOpen(db);
+                                dropChangeTriggers(db);
+                                db.execSQL("DELETE FROM " + ProductChange.TABLE_NAME);
+                                applicationContext.deleteDatabase(LEGACY_CATEGORY_DATABASE_NAME);
+                                applicationContext.deleteDatabase(LEGACY_STORAGE_LOCATION_DATABASE_NAME);
+                            }
+                        })
+                        .addMigrations(getMigrations(applicationContext))
+                        .build();
+            }
+            return INSTANCE;
+        }
+    }
+
+    /**
+     * Every migration of the database, from version 1.
+     */
+    public static Migration[] getMigrations(@NonNull Context context) {
+        Migration[] migrations = Arrays.copyOf(ALL_MIGRATIONS, ALL_MIGRATIONS.length + 1);
+        migrations[ALL_MIGRATIONS.length] = createMigration6To7(context);
+        return migrations;
+    }
+
+    /**
+     * Keeps the category and storage location foreign keys of products in line with the names
+     * stored in the product, also for rows written before the category or location existed.
+     * A product written with the right keys already is not updated again.
+     */
+    static void createLinkTriggers(@NonNull SupportSQLiteDatabase database) {
+        String categoryId = "(SELECT id FROM categories WHERE name = NEW.productFeatures)";
+        String storageLocationId = "(SELECT id FROM storage_locations WHERE name = NEW.storageLocation)";
+        String linkProduct = "WHEN NEW.categoryId IS NOT " + categoryId +
+                " OR NEW.storageLocationId IS NOT " + storageLocationId + " " +
+                "BEGIN UPDATE products SET categoryId = " + categoryId + ", " +
+                "storageLocationId = " + storageLocationId + " WHERE id = NEW.id; END";
+        database.execSQL(
+                "CREATE TRIGGER IF NOT EXISTS products_link_after_insert AFTER INSERT ON products " + linkProduct);
+        database.execSQL(
+                "CREATE TRIGGER IF NOT EXISTS products_link_after_update " +
+                        "AFTER UPDATE OF productFeatures, storageLocation ON products " + linkProduct);
+        database.execSQL(
+                "CREATE TRIGGER IF NOT EXISTS categories_link_after_insert AFTER INSERT ON categories " +
+                        "BEGIN UPDATE products SET categoryId = NEW.id " +
+                        "WHERE categoryId IS NULL AND productFeatures = NEW.name; END");
+        database.execSQL(
+                "CREATE TRIGGER IF NOT EXISTS storage_locations_link_after_insert AFTER INSERT ON storage_locations " +
+                        "BEGIN UPDATE products SET storageLocationId = NEW.id " +
+                        "WHERE storageLocationId IS NULL AND storageLocation = NEW.name; END");
+    }
+
+    static void dropLinkTriggers(@NonNull SupportSQLiteDatabase database) {
+        database.execSQL("DROP TRIGGER IF EXISTS products_link_after_insert");
+        database.execSQL("DROP TRIGGER IF EXISTS products_link_after_update");
+        database.execSQL("DROP TRIGGER IF EXISTS categories_link_after_insert");
+        database.execSQL("DROP TRIGGER IF EXISTS storage_locations_link_after_insert");
+    }
+
+    /**
+     * Appends every write of the products table to the change log read by the product change feed.
+     * The triggers exist only while the feed has listeners, so the log is never left to grow.
+     * Updates of the category and storage location keys alone are not logged.
+     */
+    public static void createChangeTriggers(@NonNull SupportSQLiteDatabase database) {
+        String logChange = "INSERT INTO product_changes(productId, type) VALUES ";
+        database.execSQL(
+                "CREATE TRIGGER IF NOT EXISTS products_change_after_insert AFTER INSERT ON products " +
+                        "BEGIN " + logChange + "(NEW.id, " + ProductChange.INSERT + "); END");
+        database.execSQL(
+                "CREATE TRIGGER IF NOT EXISTS products_change_after_update AFTER UPDATE OF name, searchName, " +
+                        "hashCode, typeOfProduct, productFeatures, storageLocation, expirationDate, productionDate, " +
+                        "composition, healingProperties, dosage, volume, weight, quantity, hasSugar, hasSalt, " +
+                        "isVege, isBio, taste, photoName, photoDescription, groupKey ON products " +
+                        "BEGIN " + logChange + "(NEW.id, " + ProductChange.UPDATE + "); END");
+        database.execSQL(
+                "CREATE TRIGGER IF NOT EXISTS products_change_after_delete AFTER DELETE ON products " +
+                        "BEGIN " + logChange + "(OLD.id, " + ProductChange.DELETE + "); END");
+    }
+
+    public static void dropChangeTriggers(@NonNull SupportSQLiteDatabase database) {
+        database.execSQL("DROP TRIGGER IF EXISTS products_change_after_insert");
+        database.execSQL("DROP TRIGGER IF EXISTS products_change_after_update");
+        database.execSQL("DROP TRIGGER IF EXISTS products_change_after_delete");
+    }
+
+    /**
+     * Copies own categories and storage locations from the databases used before version 7,
+     * keeping their ids.
+     */
+    static void importLegacyDatabases(@NonNull Context context, @NonNull SupportSQLiteDatabase database) {
+        importLegacyTable(context.getDatabasePath(LEGACY_CATEGORY_DATABASE_NAME), "categories", database);
+        importLegacyTable(context.getDatabasePath(LEGACY_STORAGE_LOCATION_DATABASE_NAME), "storage_locations", database);
+    }
+
+    private static void importLegacyTable(@NonNull File legacyDatabaseFile, @NonNull String tableName,
+                                          @NonNull SupportSQLiteDatabase database) {
+        if (!legacyDatabaseFile.exists())
+            return;
+        SQLiteDatabase legacyDatabase = SQLiteDatabase.openDatabase(legacyDatabaseFile.getPath(), null,
+                SQLiteDatabase.OPEN_READONLY);
+        try (Cursor cursor = legacyDatabase.rawQuery("SELECT id, name, description FROM " + tableName, null)) {
+            while (cursor.moveToNext()) {
+                database.execSQL("INSERT OR REPLACE INTO " + tableName + " (id, name, description) VALUES (?, ?, ?)",
+                        new Object[]{cursor.getInt(0), cursor.getString(1), cursor.getString(2)});
+            }
+        } finally {
+            legacyDatabase.close();
+        }
+    }
+
+    static Migration createMigration6To7(@NonNull Context context) {
+        return new Migration(6, 7) {
+            @Override
+            public void migrate(SupportSQLiteDatabase database) {
+                database.execSQL(
+                        "CREATE TABLE IF NOT EXISTS categories (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                                "name TEXT, description TEXT)");
+                database.execSQL(
+                        "CREATE TABLE IF NOT EXISTS storage_locations (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                                "name TEXT, description TEXT)");
+                importLegacyDatabases(context, database);
+
+                database.execSQL(
+                        "ALTER TABLE products ADD COLUMN categoryId INTEGER REFERENCES categories(id) " +
+                                "ON UPDATE NO ACTION ON DELETE SET NULL");
+                database.execSQL(
+                        "ALTER TABLE products ADD COLUMN storageLocationId INTEGER REFERENCES storage_locations(id) " +
+                                "ON UPDATE NO ACTION ON DELETE SET NULL");
+                database.execSQL(
+                        "CREATE INDEX IF NOT EXISTS index_products_categoryId ON products (categoryId)");
+                database.execSQL(
+                        "CREATE INDEX IF NOT EXISTS index_products_storageLocationId ON products (storageLocationId)");
+                database.execSQL(
+                        "UPDATE products SET " +
+                                "categoryId = (SELECT id FROM categories WHERE name = products.productFeatures), " +
+                                "storageLocationId = (SELECT id FROM storage_locations WHERE name = products.storageLocation)");
+                createLinkTriggers(database);
+            }
+        };
+    }
+
+    /**
+     * Rebuilds the products table with expiration and production dates stored as indexed
+     * epoch days instead of "yyyy-M-d" text, and recomputes the group keys from them. The link
+     * triggers are recreated for the new table. A date which can not be read is logged.
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            String copiedColumns = "id, name, hashCode, typeOfProduct, productFeatures, storageLocation, " +
+                    "composition, healingProperties, dosage, volume, weight, quantity, hasSugar, hasSalt, isVege, " +
+                    "isBio, taste, photoName, photoDescription, groupKey, categoryId, storageLocationId";
+            database.execSQL(
+                    "CREATE TABLE IF NOT EXISTS products_new (id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                            "name TEXT, hashCode TEXT, typeOfProduct TEXT, productFeatures TEXT, storageLocation TEXT, " +
+                            "expirationDate INTEGER, productionDate INTEGER, composition TEXT, healingProperties TEXT, " +
+                            "dosage TEXT, volume INTEGER NOT NULL, weight INTEGER NOT NULL, " +
+                            "quantity INTEGER NOT NULL DEFAULT 1, hasSugar INTEGER NOT NULL, hasSalt INTEGER NOT NULL, " +
+                            "isVege INTEGER NOT NULL, isBio INTEGER NOT NULL, taste TEXT, photoName TEXT, " +
+                            "photoDescription TEXT, groupKey TEXT, categoryId INTEGER, storageLocationId INTEGER, " +
+                            "FOREIGN KEY(categoryId) REFERENCES categories(id) ON UPDATE NO ACTION ON DELETE SET NULL, " +
+                            "FOREIGN KEY(storageLocationId) REFERENCES storage_locations(id) " +
+                            "ON UPDATE NO ACTION ON DELETE SET NULL)");
+            database.execSQL(
+                    "INSERT INTO products_new (" + copiedColumns + ") SELECT " + copiedColumns + " FROM products");
+
+            SupportSQLiteStatement updateStatement = database.compileStatement(
+                    "UPDATE products_new SET expirationDate = ?, productionDate = ?, groupKey = ? WHERE id = ?");
+            try (Cursor cursor = database.query("SELECT * FROM products")) {
+                while (cursor.moveToNext()) {
+                    Product product = readGroupKeyAttributes(cursor);
+                    int id = cursor.getInt(cursor.getColumnIndexOrThrow("id"));
+                    bindEpochDay(updateStatement, 1, product.getExpirationDate(), id);
+                    bindEpochDay(updateStatement, 2, product.getProductionDate(), id);
+                    updateStatement.bindString(3, generateGroupKey(product));
+                    updateStatement.bindLong(4, id);
+                    updateStatement.executeUpdateDelete();
+                    updateStatement.clearBindings();
+                }
+            }
+
+            // Triggers of other tables which refer to products would fail the rename.
+            dropLinkTriggers(database);
+            database.execSQL("DROP TABLE products");
+            database.execSQL("ALTER TABLE products_new RENAME TO products");
+            database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS index_products_groupKey ON products (groupKey)");
+            database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS index_products_categoryId ON products (categoryId)");
+            database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS index_products_storageLocationId ON products (storageLocationId)");
+            database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS index_products_expirationDate ON products (expirationDate)");
+            database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS index_products_productionDate ON products (productionDate)");
+            createLinkTriggers(database);
+        }
+    };
+
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "ALTER TABLE products ADD COLUMN searchName TEXT");
+
+            SupportSQLiteStatement updateStatement = database.compileStatement(
+                    "UPDATE products SET searchName = ? WHERE id = ?");
+            try (Cursor cursor = database.query("SELECT id, name FROM products WHERE name IS NOT NULL")) {
+                while (cursor.moveToNext()) {
+                    updateStatement.bindString(1, Product.toSearchName(cursor.getString(1)));
+                    updateStatement.bindLong(2, cursor.getInt(0));
+                    updateStatement.executeUpdateDelete();
+                    updateStatement.clearBindings();
+                }
+            }
+        }
+    };
+
+    /**
+     * Creates the full-text index of products with the same triggers Room creates for a new
+     * database, and fills it from the existing products.
+     */
+    static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            String columns = "`name`, `composition`, `healingProperties`, `dosage`";
+            String newValues = "NEW.`name`, NEW.`composition`, NEW.`healingProperties`, NEW.`dosage`";
+            database.execSQL(
+                    "CREATE VIRTUAL TABLE IF NOT EXISTS `products_fts` USING FTS4(`name` TEXT, `composition` TEXT, " +
+                            "`healingProperties` TEXT, `dosage` TEXT, tokenize=unicode61, content=`products`)");
+            for (String event : new String[]{"UPDATE", "DELETE"}) {
+                database.execSQL(
+                        "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_products_fts_BEFORE_" + event +
+                                " BEFORE " + event + " ON `products` BEGIN DELETE FROM `products_fts` " +
+                                "WHERE `docid`=OLD.`rowid`; END");
+            }
+            for (String event : new String[]{"UPDATE", "INSERT"}) {
+                database.execSQL(
+                        "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_products_fts_AFTER_" + event +
+                                " AFTER " + event + " ON `products` BEGIN INSERT INTO `products_fts`(`docid`, " +
+                                columns + ") VALUES (NEW.`rowid`, " + newValues + "); END");
+            }
+            database.execSQL(
+                    "INSERT INTO products_fts(products_fts) VALUES('rebuild')");
+        }
+    };
+
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "CREATE TABLE IF NOT EXISTS `product_changes` (`sequence` INTEGER PRIMARY KEY AUTOINCREMENT " +
+                            "NOT NULL, `productId` INTEGER NOT NULL, `type` INTEGER NOT NULL)");
+        }
+    };
+
+    /**
+     * A date which can not be read is stored as no date; it is logged, as it is lost.
+     */
+    private static void bindEpochDay(@NonNull SupportSQLiteStatement statement, int index, String date, int id) {
+        Long epochDay = DateConverter.toEpochDay(date);
+        if (epochDay == null) {
+            if (date != null && !date.trim().isEmpty() && !DateConverter.NO_DATE.equals(date.trim()))
+                Log.w("AppDb", "Unreadable date \"" + date + "\" of product " + id + " stored as no date");
+            statement.bindNull(index);
+        } else
+            statement.bindLong(index, epochDay);
+    }
+
+    /**
+     * Folds the rows of a group into one batch row with a quantity. Only rows which also have
+     * the same photo are folded, so no row loses data other than its id and QR code, which
+     * are kept as labels of the batch.
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "ALTER TABLE products ADD COLUMN quantity INTEGER NOT NULL DEFAULT 1");
+            database.execSQL(
+                    "CREATE TABLE IF NOT EXISTS product_labels (id INTEGER NOT NULL, productId INTEGER NOT NULL, " +
+                            "hashCode TEXT, PRIMARY KEY(id), FOREIGN KEY(productId) REFERENCES products(id) " +
+                            "ON UPDATE NO ACTION ON DELETE CASCADE)");
+            database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS index_product_labels_productId ON product_labels (productId)");
+            database.execSQL(
+                    "CREATE TEMP TABLE product_batches AS SELECT MIN(id) AS batchId, groupKey, photoName, " +
+                            "photoDescription, COUNT(*) AS unitCount FROM products " +
+                            "GROUP BY groupKey, photoName, photoDescription");
+            database.execSQL(
+                    "INSERT INTO product_labels (id, productId, hashCode) " +
+                            "SELECT products.id, product_batches.batchId, products.hashCode FROM products " +
+                            "INNER JOIN product_batches ON product_batches.groupKey = products.groupKey " +
+                            "AND product_batches.photoName IS products.photoName " +
+                            "AND product_batches.photoDescription IS products.photoDescription " +
+                            "WHERE products.id <> product_batches.batchId");
+            database.execSQL(
+                    "UPDATE products SET quantity = (SELECT unitCount FROM product_batches " +
+                            "WHERE product_batches.batchId = products.id) " +
+                            "WHERE id IN (SELECT batchId FROM product_batches)");
+            database.execSQL(
+                    "DELETE FROM products WHERE id IN (SELECT id FROM product_labels)");
+            database.execSQL(
+                    "DROP TABLE product_batches");
+        }
+    };
+
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "ALTER TABLE products ADD COLUMN groupKey TEXT");
+            database.execSQL(
+                    "CREATE INDEX IF NOT EXISTS index_products_groupKey ON products (groupKey)");
+
+            SupportSQLiteStatement updateStatement = database.compileStatement(
+                    "UPDATE products SET groupKey = ? WHERE id = ?");
+            try (Cursor cursor = database.query("SELECT * FROM products")) {
+                while (cursor.moveToNext()) {
+                    Product product = readGroupKeyAttributes(cursor);
+                    updateStatement.bindString(1, generateGroupKey(product));
+                    updateStatement.bindLong(2, cursor.getInt(cursor.getColumnIndexOrThrow("id")));
+                    updateStatement.executeUpdateDelete();
+                    updateStatement.clearBindings();
+                }
+            }
+        }
+    };
+
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "ALTER TABLE products ADD COLUMN photoName TEXT DEFAULT ''");
+            database.execSQL(
+                    "ALTER TABLE products ADD COLUMN photoDescription TEXT DEFAULT ''");
+        }
+    };
+
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "ALTER TABLE products ADD COLUMN storageLocation TEXT DEFAULT ''");
+        }
+    };
+
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL(
+                    "ALTER TABLE products ADD COLUMN isVege INTEGER NOT NULL DEFAULT '0'");
+            database.execSQL(
+                    "ALTER TABLE products ADD COLUMN isBio INTEGER NOT NULL DEFAULT '0'");
+        }
+    };
+
+    /**
+     * Reads the columns the group key is made of, as they existed since version 4.
+     */
+    private static Product readGroupKeyAttributes(@NonNull Cursor cursor) {
+        Product product = new Product();
+        product.setName(cursor.getString(cursor.getColumnIndexOrThrow("name")));
+        product.setTypeOfProduct(cursor.getString(cursor.getColumnIndexOrThrow("typeOfProduct")));
+        product.setProductFeatures(cursor.getString(cursor.getColumnIndexOrThrow("productFeatures")));
+        product.setStorageLocation(cursor.getString(cursor.getColumnIndexOrThrow("storageLocation")));
+        product.setExpirationDate(cursor.getString(cursor.getColumnIndexOrThrow("expirationDate")));
+        product.setProductionDate(cursor.getString(cursor.getColumnIndexOrThrow("productionDate")));
+        product.setComposition(cursor.getString(cursor.getColumnIndexOrThrow("composition")));
+        product.setHealingProperties(cursor.getString(cursor.getColumnIndexOrThrow("healingProperties")));
+        product.setDosage(cursor.getString(cursor.getColumnIndexOrThrow("dosage")));
+        product.setTaste(cursor.getString(cursor.getColumnIndexOrThrow("taste")));
+        product.setVolume(cursor.getInt(cursor.getColumnIndexOrThrow("volume")));
+        product.setWeight(cursor.getInt(cursor.getColumnIndexOrThrow("weight")));
+        product.setHasSugar(cursor.getInt(cursor.getColumnIndexOrThrow("hasSugar")) != 0);
+        product.setHasSalt(cursor.getInt(cursor.getColumnIndexOrThrow("hasSalt")) != 0);
+        product.setIsVege(cursor.getInt(cursor.getColumnIndexOrThrow("isVege")) != 0);
+        product.setIsBio(cursor.getInt(cursor.getColumnIndexOrThrow("isBio")) != 0);
+        return product;
+    }
+
+    /**
+     * Group key of the product as defined by the version 8 schema. The migrations keep this copy
+     * of {@link ProductGroupKey#generate(Product)}, so the keys they write do not change when
+     * the key of later versions does; a later definition needs its own migration.
+     */
+    private static String generateGroupKey(@NonNull Product product) {
+        StringBuilder canonicalForm = new StringBuilder();
+        appendKeyText(canonicalForm, product.getName());
+        appendKeyText(canonicalForm, product.getTypeOfProduct());
+        appendKeyText(canonicalForm, product.getProductFeatures());
+        appendKeyText(canonicalForm, product.getStorageLocation());
+        appendKeyDate(canonicalForm, product.getExpirationDate());
+        appendKeyDate(canonicalForm, product.getProductionDate());
+        appendKeyText(canonicalForm, product.getComposition());
+        appendKeyText(canonicalForm, product.getHealingProperties());
+        appendKeyText(canonicalForm, product.getDosage());
+        appendKeyText(canonicalForm, product.getTaste());
+        canonicalForm.append(product.getVolume()).append('|')
+                .append(product.getWeight()).append('|')
+                .append(product.getHasSugar() ? '1' : '0')
+                .append(product.getHasSalt() ? '1' : '0')
+                .append(product.getIsVege() ? '1' : '0')
+                .append(product.getIsBio() ? '1' : '0');
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-1")
+                    .digest(canonicalForm.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder groupKey = new StringBuilder(hash.length * 2);
+            for (byte hashByte : hash)
+                groupKey.append(Character.forDigit((hashByte >> 4) & 0x0F, 16))
+                        .append(Character.forDigit(hashByte & 0x0F, 16));
+            return groupKey.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void appendKeyText(@NonNull StringBuilder canonicalForm, String value) {
+        if (value == null)
+            canonicalForm.append("-1:|");
+        else
+            canonicalForm.append(value.length()).append(':').append(value).append('|');
+    }
+
+    private static void appendKeyDate(@NonNull StringBuilder canonicalForm, String date) {
+        Long epochDay = DateConverter.toEpochDay(date);
+        if (epochDay == null)
+            canonicalForm.append("-|");
+        else
+            canonicalForm.append(epochDay).append('|');
+    }
+
+    private static final Migration[] ALL_MIGRATIONS = new Migration[]{
+            MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6,
+            MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11};
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.db;
+
+import androidx.annotation.Nullable;
+import androidx.room.TypeConverter;
+
+import java.util.Calendar;
+
+/**
+ * <h1>DateConverter</h1>
+ * Converts dates between the "yyyy-M-d" strings used by the application and the number of days
+ * since 1970-01-01 stored in the database. The "-" of a product without a date is stored as null.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public final class DateConverter {
+
+    public static final String NO_DATE = "-";
+    public static final long NO_EPOCH_DAY = Long.MIN_VALUE;
+
+    private DateConverter() {
+    }
+
+    @TypeConverter
+    public static Long toEpochDay(@Nullable String date) {
+        long epochDay = parseEpochDay(date);
+        return epochDay == NO_EPOCH_DAY ? null : epochDay;
+    }
+
+    /**
+     * Reads the date the way {@link #toEpochDay(String)} does without creating any objects,
+     * so dates of many products can be compared. Returns {@link #NO_EPOCH_DAY} for a missing
+     * date or a date which can not be read, also one with a month or day out of range.
+     */
+    public static long parseEpochDay(@Nullable String date) {
+        if (date == null)
+            return NO_EPOCH_DAY;
+        int year = 0, month = 0, field = 0, value = 0;
+        boolean hasDigits = false, hasEnded = false, hasSign = false;
+        for (int index = 0; date.length() > index; index++) {
+            char character = date.charAt(index);
+            if (character == '-') {
+                if (!hasDigits || field == 2)
+                    return NO_EPOCH_DAY;
+                if (field == 0)
+                    year = value;
+                else
+                    month = value;
+                field++;
+                value = 0;
+                hasDigits = false;
+                hasEnded = false;
+                hasSign = false;
+            } else if (character <= ' ') {
+                if (hasDigits || hasSign)
+                    hasEnded = true;
+            } else if (character == '+' && !hasDigits && !hasSign && !hasEnded) {
+                hasSign = true;
+            } else if (character >= '0' && character <= '9' && !hasEnded) {
+                if (value > (Integer.MAX_VALUE - (character - '0')) / 10)
+                    return NO_EPOCH_DAY;
+                value = value * 10 + character - '0';
+                hasDigits = true;
+            } else {
+                return NO_EPOCH_DAY;
+            }
+        }
+        if (!hasDigits || field != 2 || month < 1 || month > 12 || value < 1 || value > getMonthLength(year, month))
+            return NO_EPOCH_DAY;
+        return toEpochDay(year, month, value);
+    }
+
+    @TypeConverter
+    public static String fromEpochDay(@Nullable Long epochDay) {
+        if (epochDay == null)
+            return NO_DATE;
+        long days = epochDay + 719468;
+        long era = Math.floorDiv(days, 146097);
+        long dayOfEra = days - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        long month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        return new StringBuilder(10).append(year).append('-').append(month).append('-').append(day).toString();
+    }
+
+    private static int getMonthLength(int year, int month) {
+        if (month == 2)
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * Days since 1970-01-01 of the given date of the proleptic Gregorian calendar,
+     * month counted from 1.
+     */
+    public static long toEpochDay(int year, int month, int dayOfMonth) {
+        long shiftedYear = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(shiftedYear, 400);
+        long yearOfEra = shiftedYear - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    public static long getTodayEpochDay() {
+        Calendar calendar = Calendar.getInstance();
+        return toEpochDay(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+}
@@ -17,10 +17,19 @@
 
 package com.hermanowicz.pantry.db.product;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
+import androidx.room.TypeConverters;
+
+import com.hermanowicz.pantry.db.DateConverter;
+import com.hermanowicz.pantry.db.category.Category;
+import com.hermanowicz.pantry.db.storagelocation.StorageLocation;
 
 import java.io.Serializable;
+import java.util.Locale;
 
 /**
  * <h1>Product/h1>
@@ -31,23 +40,37 @@ import java.io.Serializable;
  * @since   1.0
  */
 
-@Entity(tableName = "products")
+@Entity(tableName = "products",
+        foreignKeys = {
+                @ForeignKey(entity = Category.class, parentColumns = "id", childColumns = "categoryId",
+                        onDelete = ForeignKey.SET_NULL),
+                @ForeignKey(entity = StorageLocation.class, parentColumns = "id", childColumns = "storageLocationId",
+                        onDelete = ForeignKey.SET_NULL)},
+        indices = {@Index("groupKey"), @Index("categoryId"), @Index("storageLocationId"),
+                @Index("expirationDate"), @Index("productionDate")})
 public class Product implements Serializable {
 
     @PrimaryKey(autoGenerate = true)
     private int id;
     private String name;
+    private String searchName;
     private String hashCode;
     private String typeOfProduct;
     private String productFeatures;
     private String storageLocation;
+    @ColumnInfo(typeAffinity = ColumnInfo.INTEGER)
+    @TypeConverters(DateConverter.class)
     private String expirationDate;
+    @ColumnInfo(typeAffinity = ColumnInfo.INTEGER)
+    @TypeConverters(DateConverter.class)
     private String productionDate;
     private String composition;
     private String healingProperties;
     private String dosage;
     private int volume;
     private int weight;
+    @ColumnInfo(defaultValue = "1")
+    private int quantity = 1;
     private boolean hasSugar;
     private boolean hasSalt;
     private boolean isVege;
@@ -55,6 +78,9 @@ public class Product implements Serializable {
     private String taste;
     private String photoName;
     private String photoDescription;
+    private String groupKey;
+    private Integer categoryId;
+    private Integer storageLocationId;
 
     public int getId() {
         return id;
@@ -77,6 +103,22 @@ public class Product implements Serializable {
 
     public void setName(String name) {
         this.name = name;
+        this.searchName = toSearchName(name);
+    }
+
+    public String getSearchName() {
+        return searchName;
+    }
+
+    public void setSearchName(String searchName) {
+        this.searchName = searchName;
+    }
+
+    /**
+     * Lower case form of the name, compared with lower case filter text in the database.
+     */
+    public static String toSearchName(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
     }
 
     public String getHashCode() {
@@ -166,6 +208,14 @@ public class Product implements Serializable {
         this.weight = weight;
     }
 
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
     public boolean getHasSugar() {
         return hasSugar;
     }
@@ -221,4 +271,28 @@ public class Product implements Serializable {
     public void setPhotoDescription(String photoDescription) {
         this.photoDescription = photoDescription;
     }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Integer getStorageLocationId() {
+        return storageLocationId;
+    }
+
+    public void setStorageLocationId(Integer storageLocationId) {
+        this.storageLocationId = storageLocationId;
+    }
 }
\ No newline at end of file
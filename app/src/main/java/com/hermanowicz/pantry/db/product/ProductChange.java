@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hermanowicz.pantry.db.product;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * <h1>ProductChange</h1>
+ * Row of the change log of products. Triggers of the products table append one row for every
+ * inserted, updated and deleted product, in the order of the writes.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+@Entity(tableName = ProductChange.TABLE_NAME)
+public class ProductChange {
+
+    public static final String TABLE_NAME = "product_changes";
+
+    public static final int INSERT = 0;
+    public static final int UPDATE = 1;
+    public static final int DELETE = 2;
+
+    @PrimaryKey(autoGenerate = true)
+    private long sequence;
+    private int productId;
+    private int type;
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public int getType() {
+        return type;
+    }
+
+    public void setType(int type) {
+        this.type = type;
+    }
+}
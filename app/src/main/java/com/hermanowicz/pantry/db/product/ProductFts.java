@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.db.product;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * <h1>ProductFts</h1>
+ * Full-text index of the descriptive texts of products. Room keeps it in sync with the products
+ * table through triggers; the docid of a row is the id of its product.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+@Fts4(contentEntity = Product.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "products_fts")
+public class ProductFts {
+
+    private String name;
+    private String composition;
+    private String healingProperties;
+    private String dosage;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getComposition() {
+        return composition;
+    }
+
+    public void setComposition(String composition) {
+        this.composition = composition;
+    }
+
+    public String getHealingProperties() {
+        return healingProperties;
+    }
+
+    public void setHealingProperties(String healingProperties) {
+        this.healingProperties = healingProperties;
+    }
+
+    public String getDosage() {
+        return dosage;
+    }
+
+    public void setDosage(String dosage) {
+        this.dosage = dosage;
+    }
+}
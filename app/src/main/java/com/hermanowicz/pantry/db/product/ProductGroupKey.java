@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.db.product;
+
+import androidx.annotation.NonNull;
+
+import com.hermanowicz.pantry.db.DateConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * <h1>ProductGroupKey</h1>
+ * Canonical digest of the attributes that make products similar. Products with the same
+ * group key are shown as one group and are edited, deleted and printed together. Texts are
+ * compared exactly, so "Milk" and "milk" stay in separate groups.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public final class ProductGroupKey {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private ProductGroupKey() {
+    }
+
+    public static String generate(@NonNull Product product) {
+        StringBuilder canonicalForm = new StringBuilder();
+        appendText(canonicalForm, product.getName());
+        appendText(canonicalForm, product.getTypeOfProduct());
+        appendText(canonicalForm, product.getProductFeatures());
+        appendText(canonicalForm, product.getStorageLocation());
+        appendDate(canonicalForm, product.getExpirationDate());
+        appendDate(canonicalForm, product.getProductionDate());
+        appendText(canonicalForm, product.getComposition());
+        appendText(canonicalForm, product.getHealingProperties());
+        appendText(canonicalForm, product.getDosage());
+        appendText(canonicalForm, product.getTaste());
+        canonicalForm.append(product.getVolume()).append('|')
+                .append(product.getWeight()).append('|')
+                .append(product.getHasSugar() ? '1' : '0')
+                .append(product.getHasSalt() ? '1' : '0')
+                .append(product.getIsVege() ? '1' : '0')
+                .append(product.getIsBio() ? '1' : '0');
+        return digest(canonicalForm.toString());
+    }
+
+    private static void appendText(@NonNull StringBuilder canonicalForm, String value) {
+        if (value == null)
+            canonicalForm.append("-1:|");
+        else
+            canonicalForm.append(value.length()).append(':').append(value).append('|');
+    }
+
+    private static void appendDate(@NonNull StringBuilder canonicalForm, String date) {
+        Long epochDay = DateConverter.toEpochDay(date);
+        if (epochDay == null)
+            canonicalForm.append("-|");
+        else
+            canonicalForm.append(epochDay).append('|');
+    }
+
+    private static String digest(@NonNull String canonicalForm) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = messageDigest.digest(canonicalForm.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[hash.length * 2];
+            for (int counter = 0; counter < hash.length; counter++) {
+                hex[counter * 2] = HEX_DIGITS[(hash[counter] >> 4) & 0x0F];
+                hex[counter * 2 + 1] = HEX_DIGITS[hash[counter] & 0x0F];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
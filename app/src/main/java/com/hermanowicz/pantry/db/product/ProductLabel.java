@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.db.product;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * <h1>ProductLabel</h1>
+ * QR code identity of a single unit that was folded into a product batch. The id is the one
+ * printed on the label, so a scanned label still leads to the batch it belongs to.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+@Entity(tableName = "product_labels",
+        foreignKeys = @ForeignKey(entity = Product.class, parentColumns = "id", childColumns = "productId",
+                onDelete = ForeignKey.CASCADE),
+        indices = {@Index("productId")})
+public class ProductLabel {
+
+    @PrimaryKey
+    private int id;
+    private int productId;
+    private String hashCode;
+
+    public ProductLabel(int id, int productId, String hashCode) {
+        this.id = id;
+        this.productId = productId;
+        this.hashCode = hashCode;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public String getHashCode() {
+        return hashCode;
+    }
+
+    public void setHashCode(String hashCode) {
+        this.hashCode = hashCode;
+    }
+}
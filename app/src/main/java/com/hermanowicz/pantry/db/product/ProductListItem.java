@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hermanowicz.pantry.db.product;
+
+import androidx.room.TypeConverters;
+
+import com.hermanowicz.pantry.db.DateConverter;
+
+/**
+ * <h1>ProductListItem</h1>
+ * Columns of a product shown in the product list. The long texts of a product, like its
+ * composition, healing properties, dosage and photo description, are not read for the list;
+ * the whole product is loaded when its details are opened.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class ProductListItem {
+
+    public static final String COLUMNS = "products.id, products.name, products.hashCode, " +
+            "products.expirationDate, products.volume, products.weight, products.hasSugar, " +
+            "products.hasSalt, products.isVege, products.isBio, products.groupKey";
+
+    private int id;
+    private String name;
+    private String hashCode;
+    @TypeConverters(DateConverter.class)
+    private String expirationDate;
+    private int volume;
+    private int weight;
+    private boolean hasSugar;
+    private boolean hasSalt;
+    private boolean isVege;
+    private boolean isBio;
+    private String groupKey;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getShortName(){
+        if(name.length()>18)
+            return name.substring(0, 17) + "...";
+        else
+            return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getHashCode() {
+        return hashCode;
+    }
+
+    public void setHashCode(String hashCode) {
+        this.hashCode = hashCode;
+    }
+
+    public String getExpirationDate() {
+        return expirationDate;
+    }
+
+    public void setExpirationDate(String expirationDate) {
+        this.expirationDate = expirationDate;
+    }
+
+    public int getVolume() {
+        return volume;
+    }
+
+    public void setVolume(int volume) {
+        this.volume = volume;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    public boolean getHasSugar() {
+        return hasSugar;
+    }
+
+    public void setHasSugar(boolean hasSugar) {
+        this.hasSugar = hasSugar;
+    }
+
+    public boolean getHasSalt() {
+        return hasSalt;
+    }
+
+    public void setHasSalt(boolean hasSalt) {
+        this.hasSalt = hasSalt;
+    }
+
+    public boolean getIsVege() {
+        return isVege;
+    }
+
+    public void setIsVege(boolean vege) {
+        isVege = vege;
+    }
+
+    public boolean getIsBio() {
+        return isBio;
+    }
+
+    public void setIsBio(boolean bio) {
+        isBio = bio;
+    }
+
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+}
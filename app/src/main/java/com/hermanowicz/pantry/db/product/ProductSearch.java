@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.db.product;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+
+/**
+ * <h1>ProductSearch</h1>
+ * Builds full-text queries of the products from the texts of a filter. Every word of a text
+ * has to occur in its column of a product, as a whole word or as the beginning of one.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public final class ProductSearch {
+
+    private ProductSearch() {
+    }
+
+    /**
+     * Appends the terms of the text, limited to the column of {@link ProductFts}, to the MATCH
+     * expression. A text without words adds nothing.
+     */
+    public static void appendMatchTerms(@NonNull StringBuilder matchQuery, @NonNull String column,
+                                        @Nullable String text) {
+        if (text == null)
+            return;
+        for (String term : text.split("[^\\p{L}\\p{N}]+")) {
+            if (term.isEmpty())
+                continue;
+            if (matchQuery.length() > 0)
+                matchQuery.append(' ');
+            matchQuery.append(column).append(':').append(term.toLowerCase(Locale.ROOT)).append('*');
+        }
+    }
+}
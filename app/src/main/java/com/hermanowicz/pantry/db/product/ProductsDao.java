@@ -22,8 +22,14 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
 import androidx.room.Update;
+import androidx.sqlite.db.SupportSQLiteQuery;
 
+import com.hermanowicz.pantry.model.ProductGroupListItem;
+
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -37,6 +43,12 @@ import java.util.List;
 
 @Dao
 public interface ProductsDao {
+
+    /**
+     * Most ids bound to one query, below the limit of 999 arguments of older SQLite versions.
+     */
+    int MAX_QUERY_IDS = 500;
+
     @Query("SELECT * FROM products WHERE id = (:id)")
     Product getProduct(int id);
 
@@ -46,12 +58,74 @@ public interface ProductsDao {
     @Query("SELECT * FROM products ORDER BY expirationDate ASC")
     List<Product> getAllProductsList();
 
+    @RawQuery
+    List<ProductGroupListItem> getProductGroupsList(SupportSQLiteQuery query);
+
+    @Query("SELECT * FROM products WHERE id IN (:ids)")
+    List<Product> getProductsByIds(List<Integer> ids);
+
+    @Query("SELECT * FROM product_changes ORDER BY sequence ASC")
+    List<ProductChange> getProductChanges();
+
+    @Query("DELETE FROM product_changes WHERE sequence <= :sequence")
+    void deleteProductChanges(long sequence);
+
+    @Query("DELETE FROM product_changes")
+    void clearProductChanges();
+
+    @Query("SELECT searchName, SUM(quantity) AS unitCount FROM products WHERE searchName IS NOT NULL " +
+            "GROUP BY searchName")
+    List<ProductNameCount> getProductNameCounts();
+
+    @Query("SELECT * FROM products WHERE groupKey = (:groupKey) ORDER BY id ASC")
+    List<Product> getProductsByGroupKey(String groupKey);
+
+    @Query("SELECT products.* FROM products INNER JOIN product_labels ON product_labels.productId = products.id " +
+            "WHERE product_labels.id = (:labelId)")
+    Product getProductByLabelId(int labelId);
+
+    @Query("SELECT hashCode FROM product_labels WHERE id = (:labelId)")
+    String getLabelHashCode(int labelId);
+
+    @Insert
+    void addLabels(List<ProductLabel> labels);
+
+    @Query("UPDATE product_labels SET productId = (:batchId) WHERE productId IN (:productIds)")
+    void moveLabels(int batchId, List<Integer> productIds);
+
+    @Query("SELECT id FROM categories WHERE name = (:name)")
+    Integer getCategoryId(String name);
+
+    @Query("SELECT id FROM storage_locations WHERE name = (:name)")
+    Integer getStorageLocationId(String name);
+
+    /**
+     * Sets the group key and the category and storage location keys the link triggers would
+     * set, so the written row is not updated again by a trigger.
+     */
+    default void prepareProduct(Product product) {
+        product.setGroupKey(ProductGroupKey.generate(product));
+        product.setCategoryId(product.getProductFeatures() == null ? null : getCategoryId(product.getProductFeatures()));
+        product.setStorageLocationId(product.getStorageLocation() == null ? null
+                : getStorageLocationId(product.getStorageLocation()));
+    }
+
     @Insert
-    void addProducts(List<Product> products);
+    void insertProducts(List<Product> products);
+
+    @Transaction
+    default void addProducts(List<Product> products) {
+        for (Product product : products)
+            prepareProduct(product);
+        insertProducts(products);
+    }
 
     @Delete
     void deleteProducts(List<Product> product);
 
+    @Query("DELETE FROM products WHERE id IN (:ids)")
+    void deleteProductsByIds(List<Integer> ids);
+
     @Query("DELETE FROM products")
     void clearDb();
 
@@ -59,5 +133,76 @@ public interface ProductsDao {
     int getIdLastProduct();
 
     @Update
-    void updateProduct(Product... products);
+    void updateProductRows(Product... products);
+
+    @Transaction
+    default void updateProduct(Product... products) {
+        for (Product product : products)
+            prepareProduct(product);
+        updateProductRows(products);
+    }
+
+    @Query("UPDATE products SET photoName = (:photoName), photoDescription = (:photoDescription) " +
+            "WHERE id IN (:ids)")
+    void updatePhoto(List<Integer> ids, String photoName, String photoDescription);
+
+    @Query("SELECT * FROM products WHERE groupKey = (:groupKey) LIMIT 1")
+    Product getFirstProductByGroupKey(String groupKey);
+
+    @Query("UPDATE products SET storageLocation = (:storageLocation), groupKey = (:newGroupKey) " +
+            "WHERE groupKey = (:groupKey)")
+    void updateStorageLocationByGroupKey(String groupKey, String storageLocation, String newGroupKey);
+
+    @Query("UPDATE products SET typeOfProduct = (:typeOfProduct), productFeatures = (:productFeatures), " +
+            "groupKey = (:newGroupKey) WHERE groupKey = (:groupKey)")
+    void updateCategoryByGroupKey(String groupKey, String typeOfProduct, String productFeatures, String newGroupKey);
+
+    /**
+     * Moves every product of the group to another storage location with one statement.
+     */
+    @Transaction
+    default void moveProductGroup(String groupKey, String storageLocation) {
+        Product product = getFirstProductByGroupKey(groupKey);
+        if (product == null)
+            return;
+        product.setStorageLocation(storageLocation);
+        updateStorageLocationByGroupKey(groupKey, storageLocation, ProductGroupKey.generate(product));
+    }
+
+    /**
+     * Changes the type and category of every product of the group with one statement.
+     */
+    @Transaction
+    default void recategorizeProductGroup(String groupKey, String typeOfProduct, String productFeatures) {
+        Product product = getFirstProductByGroupKey(groupKey);
+        if (product == null)
+            return;
+        product.setTypeOfProduct(typeOfProduct);
+        product.setProductFeatures(productFeatures);
+        updateCategoryByGroupKey(groupKey, typeOfProduct, productFeatures, ProductGroupKey.generate(product));
+    }
+
+    /**
+     * Stores the batch and folds the other rows of its group into it. The folded rows keep
+     * their QR code identity as labels of the batch.
+     */
+    @Transaction
+    default void mergeIntoBatch(Product batch, List<Product> mergedProducts) {
+        if (!mergedProducts.isEmpty()) {
+            List<Integer> mergedProductIds = new ArrayList<>();
+            List<ProductLabel> labels = new ArrayList<>();
+            for (Product product : mergedProducts) {
+                mergedProductIds.add(product.getId());
+                labels.add(new ProductLabel(product.getId(), batch.getId(), product.getHashCode()));
+            }
+            for (int fromIndex = 0; mergedProductIds.size() > fromIndex; fromIndex += MAX_QUERY_IDS)
+                moveLabels(batch.getId(), mergedProductIds.subList(fromIndex,
+                        Math.min(mergedProductIds.size(), fromIndex + MAX_QUERY_IDS)));
+            addLabels(labels);
+            for (int fromIndex = 0; mergedProductIds.size() > fromIndex; fromIndex += MAX_QUERY_IDS)
+                deleteProductsByIds(mergedProductIds.subList(fromIndex,
+                        Math.min(mergedProductIds.size(), fromIndex + MAX_QUERY_IDS)));
+        }
+        updateProduct(batch);
+    }
 }
\ No newline at end of file
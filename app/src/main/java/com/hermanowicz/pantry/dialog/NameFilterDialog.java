@@ -20,9 +20,15 @@ package com.hermanowicz.pantry.dialog;
 import android.app.Activity;
 import android.app.Dialog;
 import android.content.Context;
+import android.content.DialogInterface;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.View;
 import android.widget.Button;
+import android.widget.CheckBox;
 import android.widget.EditText;
 
 import androidx.annotation.NonNull;
@@ -38,6 +44,8 @@ import com.hermanowicz.pantry.interfaces.FilterDialogListener;
 /**
  * <h1>NameFilterDialog</h1>
  * The dialog window needed to set filters by name to search for products in the pantry.
+ * Products are searched as the name is typed, when no key has been pressed for a moment.
+ * Cancelling the dialog brings back the name filter it was opened with.
  *
  * @author  Mateusz Hermanowicz
  * @version 1.0
@@ -46,17 +54,25 @@ import com.hermanowicz.pantry.interfaces.FilterDialogListener;
 
 public class NameFilterDialog extends AppCompatDialogFragment {
 
+    private static final long SEARCH_DELAY_MILLIS = 300;
+
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::searchName;
     private DialogNameBinding binding;
     private Activity activity;
     private View view;
     private FilterDialogListener dialogListener;
     private String filterName;
+    private boolean isNameFuzzy;
+    private boolean isSearched = false;
 
     private EditText name;
+    private CheckBox similarNames;
     private Button clearBtn;
 
     public NameFilterDialog(FilterModel filterProduct) {
         this.filterName = filterProduct.getName();
+        this.isNameFuzzy = filterProduct.getIsNameFuzzy();
     }
 
     @NotNull
@@ -69,14 +85,14 @@ public class NameFilterDialog extends AppCompatDialogFragment {
 
         builder.setView(view)
                 .setTitle(getString(R.string.Product_name))
-                .setNegativeButton(getString(R.string.General_cancel), (dialog, which) -> {
-                })
+                .setNegativeButton(getString(R.string.General_cancel), (dialog, which) -> restoreFilterName())
                 .setPositiveButton(getString(R.string.MyPantryActivity_set), (dialog, which) -> {
+                    searchHandler.removeCallbacks(searchRunnable);
                     filterName = name.getText().toString();
                     if (!filterName.equals("")) {
-                        dialogListener.setFilterName(filterName);
+                        dialogListener.setFilterName(filterName, similarNames.isChecked());
                     } else {
-                        dialogListener.setFilterName(null);
+                        dialogListener.setFilterName(null, false);
                     }
                 });
         return builder.create();
@@ -88,13 +104,68 @@ public class NameFilterDialog extends AppCompatDialogFragment {
         view = binding.getRoot();
 
         name = binding.edittextName;
+        similarNames = binding.checkboxSimilarNames;
         clearBtn = binding.buttonClear;
 
         if (filterName != null) name.setText(filterName);
+        similarNames.setChecked(isNameFuzzy);
     }
 
     private void setListeners() {
         clearBtn.setOnClickListener(view1 -> name.setText(""));
+        name.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence text, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence text, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable text) {
+                scheduleSearch();
+            }
+        });
+        similarNames.setOnCheckedChangeListener((buttonView, isChecked) -> scheduleSearch());
+    }
+
+    /**
+     * Every key pressed postpones the search, so only the name typed last is searched.
+     */
+    private void scheduleSearch() {
+        searchHandler.removeCallbacks(searchRunnable);
+        searchHandler.postDelayed(searchRunnable, SEARCH_DELAY_MILLIS);
+    }
+
+    private void searchName() {
+        String searchedName = name.getText().toString();
+        isSearched = true;
+        if (!searchedName.equals("")) {
+            dialogListener.searchFilterName(searchedName, similarNames.isChecked());
+        } else {
+            dialogListener.searchFilterName(null, false);
+        }
+    }
+
+    private void restoreFilterName() {
+        searchHandler.removeCallbacks(searchRunnable);
+        if (isSearched) {
+            isSearched = false;
+            dialogListener.setFilterName(filterName, isNameFuzzy);
+        }
+    }
+
+    @Override
+    public void onCancel(@NonNull DialogInterface dialog) {
+        super.onCancel(dialog);
+        restoreFilterName();
+    }
+
+    @Override
+    public void onDestroy() {
+        searchHandler.removeCallbacks(searchRunnable);
+        super.onDestroy();
     }
 
     @Override
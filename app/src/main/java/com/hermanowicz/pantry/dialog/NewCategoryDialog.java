@@ -37,7 +37,7 @@ import com.hermanowicz.pantry.db.category.Category;
 import com.hermanowicz.pantry.interfaces.DialogCategoryListener;
 import com.hermanowicz.pantry.interfaces.NewCategoryView;
 import com.hermanowicz.pantry.model.CategoryModel;
-import com.hermanowicz.pantry.model.DatabaseOperations;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.presenter.NewCategoryPresenter;
 
 public class NewCategoryDialog extends AppCompatDialogFragment implements NewCategoryView {
@@ -76,8 +76,7 @@ public class NewCategoryDialog extends AppCompatDialogFragment implements NewCat
         categoryName = binding.edittextName;
         categoryDescription = binding.edittextDescription;
 
-        DatabaseOperations databaseOperations = new DatabaseOperations(activity.getApplicationContext());
-        presenter = new NewCategoryPresenter(this, new CategoryModel(databaseOperations));
+        presenter = new NewCategoryPresenter(this, new CategoryModel(new PantryRepository(activity.getApplicationContext())));
 
         view = binding.getRoot();
     }
@@ -36,7 +36,7 @@ import com.hermanowicz.pantry.databinding.DialogNewStorageLocationBinding;
 import com.hermanowicz.pantry.db.storagelocation.StorageLocation;
 import com.hermanowicz.pantry.interfaces.DialogStorageLocationListener;
 import com.hermanowicz.pantry.interfaces.NewStorageLocationView;
-import com.hermanowicz.pantry.model.DatabaseOperations;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.model.StorageLocationModel;
 import com.hermanowicz.pantry.presenter.NewStorageLocationPresenter;
 
@@ -76,8 +76,7 @@ public class NewStorageLocationDialog extends AppCompatDialogFragment implements
         storageLocationName = binding.edittextName;
         storageLocationDescription = binding.edittextDescription;
 
-        DatabaseOperations databaseOperations = new DatabaseOperations(activity.getApplicationContext());
-        presenter = new NewStorageLocationPresenter(this, new StorageLocationModel(databaseOperations));
+        presenter = new NewStorageLocationPresenter(this, new StorageLocationModel(new PantryRepository(activity.getApplicationContext())));
 
         view = binding.getRoot();
     }
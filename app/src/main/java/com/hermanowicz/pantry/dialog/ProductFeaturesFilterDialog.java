@@ -32,8 +32,8 @@ import androidx.appcompat.app.AppCompatDialogFragment;
 import com.google.firebase.database.annotations.NotNull;
 import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.databinding.DialogProductFeaturesBinding;
-import com.hermanowicz.pantry.filter.Filter;
 import com.hermanowicz.pantry.filter.FilterModel;
+import com.hermanowicz.pantry.filter.FilterSet;
 import com.hermanowicz.pantry.interfaces.FilterDialogListener;
 
 /**
@@ -51,10 +51,10 @@ public class ProductFeaturesFilterDialog extends AppCompatDialogFragment {
     private Activity activity;
     private View view;
     private FilterDialogListener dialogListener;
-    private Filter.Set filterHasSugar;
-    private Filter.Set filterHasSalt;
-    private Filter.Set filterIsBio;
-    private Filter.Set filterIsVege;
+    private FilterSet filterHasSugar;
+    private FilterSet filterHasSalt;
+    private FilterSet filterIsBio;
+    private FilterSet filterIsVege;
 
     private CheckBox productHasSugar, productHasSalt, productIsBio, productIsVege;
     private Button clearBtn;
@@ -94,13 +94,13 @@ public class ProductFeaturesFilterDialog extends AppCompatDialogFragment {
         productIsVege = binding.checkboxIsVege;
         clearBtn = binding.buttonClear;
 
-        if (filterHasSugar == Filter.Set.YES)
+        if (filterHasSugar == FilterSet.YES)
             binding.checkboxHasSugar.setChecked(true);
-        if (filterHasSalt == Filter.Set.YES)
+        if (filterHasSalt == FilterSet.YES)
             binding.checkboxHasSalt.setChecked(true);
-        if (filterIsBio == Filter.Set.YES)
+        if (filterIsBio == FilterSet.YES)
             binding.checkboxIsBio.setChecked(true);
-        if (filterIsVege == Filter.Set.YES)
+        if (filterIsVege == FilterSet.YES)
             binding.checkboxIsVege.setChecked(true);
     }
 
@@ -110,41 +110,41 @@ public class ProductFeaturesFilterDialog extends AppCompatDialogFragment {
             productHasSalt.setChecked(false);
             productIsBio.setChecked(false);
             productIsVege.setChecked(false);
-            filterHasSugar = Filter.Set.DISABLED;
-            filterHasSalt = Filter.Set.DISABLED;
-            filterIsBio = Filter.Set.DISABLED;
-            filterIsVege = Filter.Set.DISABLED;
+            filterHasSugar = FilterSet.DISABLED;
+            filterHasSalt = FilterSet.DISABLED;
+            filterIsBio = FilterSet.DISABLED;
+            filterIsVege = FilterSet.DISABLED;
         });
 
         productHasSugar.setOnCheckedChangeListener((buttonView, isChecked) -> {
                     if (productHasSugar.isChecked())
-                        filterHasSugar = Filter.Set.YES;
+                        filterHasSugar = FilterSet.YES;
                     else
-                        filterHasSugar = Filter.Set.NO;
+                        filterHasSugar = FilterSet.NO;
                 }
         );
 
         productHasSalt.setOnCheckedChangeListener((buttonView, isChecked) -> {
                     if (productHasSalt.isChecked())
-                        filterHasSalt = Filter.Set.YES;
+                        filterHasSalt = FilterSet.YES;
                     else
-                        filterHasSalt = Filter.Set.NO;
+                        filterHasSalt = FilterSet.NO;
                 }
         );
 
         productIsBio.setOnCheckedChangeListener((buttonView, isChecked) -> {
                     if (productIsBio.isChecked())
-                        filterIsBio = Filter.Set.YES;
+                        filterIsBio = FilterSet.YES;
                     else
-                        filterIsBio = Filter.Set.NO;
+                        filterIsBio = FilterSet.NO;
                 }
         );
 
         productIsVege.setOnCheckedChangeListener((buttonView, isChecked) -> {
                     if (productIsVege.isChecked())
-                        filterIsVege = Filter.Set.YES;
+                        filterIsVege = FilterSet.YES;
                     else
-                        filterIsVege = Filter.Set.NO;
+                        filterIsVege = FilterSet.NO;
                 }
         );
     }
@@ -36,9 +36,9 @@ import androidx.appcompat.app.AppCompatDialogFragment;
 import com.google.firebase.database.annotations.NotNull;
 import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.databinding.DialogTypeOfProductBinding;
-import com.hermanowicz.pantry.db.category.CategoryDb;
 import com.hermanowicz.pantry.filter.FilterModel;
 import com.hermanowicz.pantry.interfaces.FilterDialogListener;
+import com.hermanowicz.pantry.model.PantryRepository;
 
 /**
  * <h1>TypeOfProductFilterDialog</h1>
@@ -56,10 +56,9 @@ public class TypeOfProductFilterDialog extends AppCompatDialogFragment {
     private View view;
     private Context context;
     private Resources resources;
-    private CategoryDb categoryDb;
     private FilterDialogListener dialogListener;
     private String filterTypeOfProduct, filterProductFeatures, selectedProductType;
-    private String[] productTypeArray, productCategoryArray;
+    private String[] productTypeArray, productCategoryArray, ownCategoriesArray = new String[0];
     private ArrayAdapter<CharSequence> typeOfProductAdapter;
     private ArrayAdapter<CharSequence> productCategoryAdapter;
     private boolean isTypeOfProductTouched;
@@ -102,7 +101,6 @@ public class TypeOfProductFilterDialog extends AppCompatDialogFragment {
         activity = getActivity();
         context = activity.getApplicationContext();
         resources = context.getResources();
-        categoryDb = CategoryDb.getInstance(context);
 
         binding = DialogTypeOfProductBinding.inflate(activity.getLayoutInflater());
         view = binding.getRoot();
@@ -121,6 +119,13 @@ public class TypeOfProductFilterDialog extends AppCompatDialogFragment {
         productCategoryAdapter = ArrayAdapter.createFromResource(context, R.array.Product_choose_array, R.layout.custom_spinner);
         productCategory.setAdapter(productCategoryAdapter);
 
+        new PantryRepository(context).getOwnCategoriesArray(ownCategoriesArray -> {
+            this.ownCategoriesArray = ownCategoriesArray;
+            showSelectedFilters();
+        });
+    }
+
+    private void showSelectedFilters() {
         updateProductFeaturesSpinnerAndSelectTypeOfProduct();
 
         if (filterProductFeatures != null) {
@@ -179,8 +184,7 @@ public class TypeOfProductFilterDialog extends AppCompatDialogFragment {
     private void updateProductFeaturesSpinnerAndSelectTypeOfProduct() {
         if(filterTypeOfProduct != null) {
             if (filterTypeOfProduct.equals(productTypeArray[1])) {
-                String[] categoryArray = categoryDb.categoryDao().getAllCategoriesArray();
-                productCategoryAdapter = new ArrayAdapter<>(context, R.layout.custom_spinner, categoryArray);
+                productCategoryAdapter = new ArrayAdapter<>(context, R.layout.custom_spinner, ownCategoriesArray);
                 productType.setSelection(1, false);
             }
             else if (filterTypeOfProduct.equals(productTypeArray[2])) {
@@ -236,7 +240,7 @@ public class TypeOfProductFilterDialog extends AppCompatDialogFragment {
         if (selectedProductType.equals(productTypeArray[0]))
             productCategoryAdapter = ArrayAdapter.createFromResource(context, R.array.Product_choose_array, R.layout.custom_spinner);
         else if (selectedProductType.equals(productTypeArray[1]))
-            productCategoryAdapter = new ArrayAdapter<>(context, R.layout.custom_spinner, categoryDb.categoryDao().getAllCategoriesArray());
+            productCategoryAdapter = new ArrayAdapter<>(context, R.layout.custom_spinner, ownCategoriesArray);
         else if (selectedProductType.equals(productTypeArray[2]))
             productCategoryAdapter = ArrayAdapter.createFromResource(context, R.array.ProductDetailsActivity_store_products_array, R.layout.custom_spinner);
         else if (selectedProductType.equals(productTypeArray[3]))
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.filter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h1>FilterCache</h1>
+ * Results of the recently used filters, keyed by the snapshots of their models. When the cache
+ * is full, the result used the longest time ago is dropped.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class FilterCache<V> {
+
+    private final Map<FilterSnapshot, V> results;
+
+    public FilterCache(int maxSize) {
+        results = new LinkedHashMap<FilterSnapshot, V>(maxSize + 1, 1f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FilterSnapshot, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Nullable
+    public V get(@NonNull FilterSnapshot filterSnapshot) {
+        return results.get(filterSnapshot);
+    }
+
+    public void put(@NonNull FilterSnapshot filterSnapshot, @NonNull V result) {
+        results.put(filterSnapshot, result);
+    }
+
+    /**
+     * Drops the results the condition holds for, keeping the order of use of the others.
+     */
+    public void removeIf(@NonNull Condition<V> condition) {
+        Iterator<V> iterator = results.values().iterator();
+        while (iterator.hasNext()) {
+            if (condition.holds(iterator.next()))
+                iterator.remove();
+        }
+    }
+
+    public void clear() {
+        results.clear();
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public interface Condition<V> {
+        boolean holds(@NonNull V result);
+    }
+}
@@ -29,6 +29,7 @@ package com.hermanowicz.pantry.filter;
 public class FilterModel {
 
     private String name = null;
+    private boolean isNameFuzzy = false;
     private String typeOfProduct = null;
     private String productFeatures = null;
     private String expirationDateSince = null;
@@ -42,12 +43,27 @@ public class FilterModel {
     private int volumeFor = -1;
     private int weightSince = -1;
     private int weightFor = -1;
-    private Filter.Set hasSugar = Filter.Set.DISABLED;
-    private Filter.Set hasSalt = Filter.Set.DISABLED;
-    private Filter.Set isBio = Filter.Set.DISABLED;
-    private Filter.Set isVege = Filter.Set.DISABLED;
+    private FilterSet hasSugar = FilterSet.DISABLED;
+    private FilterSet hasSalt = FilterSet.DISABLED;
+    private FilterSet isBio = FilterSet.DISABLED;
+    private FilterSet isVege = FilterSet.DISABLED;
     private String taste = null;
 
+    /**
+     * Immutable copy of the current values, equal to the copies of the same values.
+     */
+    public FilterSnapshot toSnapshot() {
+        return new FilterSnapshot(this, false);
+    }
+
+    /**
+     * Copy of the current values for a search by the name being typed. It is not equal to
+     * the copy of the same values set as the filter.
+     */
+    public FilterSnapshot toSearchSnapshot() {
+        return new FilterSnapshot(this, true);
+    }
+
     public String getName() {
         return name;
     }
@@ -56,6 +72,17 @@ public class FilterModel {
         this.name = name;
     }
 
+    /**
+     * Whether names within a few edits of the filter name, as misspelled, match as well.
+     */
+    public boolean getIsNameFuzzy() {
+        return isNameFuzzy;
+    }
+
+    public void setIsNameFuzzy(boolean isNameFuzzy) {
+        this.isNameFuzzy = isNameFuzzy;
+    }
+
     public String getTypeOfProduct() {
         return typeOfProduct;
     }
@@ -160,35 +187,35 @@ public class FilterModel {
         this.weightFor = weightFor;
     }
 
-    public Filter.Set getHasSugar() {
+    public FilterSet getHasSugar() {
         return hasSugar;
     }
 
-    public void setHasSugar(Filter.Set hasSugar) {
+    public void setHasSugar(FilterSet hasSugar) {
         this.hasSugar = hasSugar;
     }
 
-    public Filter.Set getHasSalt() {
+    public FilterSet getHasSalt() {
         return hasSalt;
     }
 
-    public void setHasSalt(Filter.Set hasSalt) {
+    public void setHasSalt(FilterSet hasSalt) {
         this.hasSalt = hasSalt;
     }
 
-    public Filter.Set getIsBio() {
+    public FilterSet getIsBio() {
         return isBio;
     }
 
-    public void setIsBio(Filter.Set isBio) {
+    public void setIsBio(FilterSet isBio) {
         this.isBio = isBio;
     }
 
-    public Filter.Set getIsVege() {
+    public FilterSet getIsVege() {
         return isVege;
     }
 
-    public void setIsVege(Filter.Set isVege) {
+    public void setIsVege(FilterSet isVege) {
         this.isVege = isVege;
     }
 
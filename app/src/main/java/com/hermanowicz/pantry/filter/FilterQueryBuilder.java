@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.filter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import com.hermanowicz.pantry.db.DateConverter;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductListItem;
+import com.hermanowicz.pantry.db.product.ProductSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>FilterQueryBuilder</h1>
+ * Compiles the filter model to a parameterized query of the products table, so only the
+ * matching products are read from the database, grouped by their group key. Only the set
+ * criteria become conditions, and they are ordered from the cheapest to check, so SQLite
+ * compares the columns of a product before it searches its texts.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class FilterQueryBuilder {
+
+    private static final String NAME_CONDITION = "instr(searchName, ?) > 0";
+    private static final String GROUP_MEMBERS = "FROM products AS members WHERE members.groupKey = products.groupKey";
+    // Three group columns, the filter of the first product and the check for an earlier member
+    private static final int MEMBER_CONDITIONS_COUNT = 5;
+
+    private final List<String> conditionList = new ArrayList<>();
+    private final List<Object> arguments = new ArrayList<>();
+    private String searchName = null;
+    private int nameConditionIndex = -1;
+
+    private FilterQueryBuilder() {
+    }
+
+    /**
+     * Compiles the conditions of the filter once, so pages of the product list can be queried
+     * for the filter as it was when the list was created.
+     */
+    public static FilterQueryBuilder compile(@NonNull FilterModel filterProduct) {
+        FilterQueryBuilder builder = new FilterQueryBuilder();
+
+        if (filterProduct.getTypeOfProduct() != null)
+            builder.addCondition("typeOfProduct = ?", filterProduct.getTypeOfProduct());
+        if (filterProduct.getProductCategory() != null)
+            builder.addCondition("productFeatures = ?", filterProduct.getProductCategory());
+
+        builder.addFlagCondition("hasSugar", filterProduct.getHasSugar());
+        builder.addFlagCondition("hasSalt", filterProduct.getHasSalt());
+        builder.addFlagCondition("isBio", filterProduct.getIsBio());
+        builder.addFlagCondition("isVege", filterProduct.getIsVege());
+
+        if (filterProduct.getVolumeSince() > -1)
+            builder.addCondition("volume >= ?", filterProduct.getVolumeSince());
+        if (filterProduct.getVolumeFor() > -1)
+            builder.addCondition("volume <= ?", filterProduct.getVolumeFor());
+        if (filterProduct.getWeightSince() > -1)
+            builder.addCondition("weight >= ?", filterProduct.getWeightSince());
+        if (filterProduct.getWeightFor() > -1)
+            builder.addCondition("weight <= ?", filterProduct.getWeightFor());
+
+        builder.addDateCondition("expirationDate > ?", filterProduct.getExpirationDateSince());
+        builder.addDateCondition("expirationDate < ?", filterProduct.getExpirationDateFor());
+        builder.addDateCondition("productionDate > ?", filterProduct.getProductionDateSince());
+        builder.addDateCondition("productionDate < ?", filterProduct.getProductionDateFor());
+
+        if (filterProduct.getName() != null) {
+            builder.searchName = Product.toSearchName(filterProduct.getName());
+            builder.nameConditionIndex = builder.conditionList.size();
+            builder.addCondition(NAME_CONDITION, builder.searchName);
+        }
+        if (filterProduct.getTaste() != null)
+            builder.addCondition("instr(taste, ?) > 0", filterProduct.getTaste());
+        builder.addTextSearchCondition(filterProduct);
+        return builder;
+    }
+
+    /**
+     * Conditions which match as well the products with one of the given lower case names, found
+     * as similar to the name of the filter. Every condition before the name condition has
+     * exactly one argument.
+     */
+    public FilterQueryBuilder withSimilarNames(@NonNull List<String> similarNames) {
+        if (searchName == null || similarNames.isEmpty())
+            return this;
+        FilterQueryBuilder builder = new FilterQueryBuilder();
+        builder.searchName = searchName;
+        builder.nameConditionIndex = nameConditionIndex;
+        StringBuilder nameCondition = new StringBuilder("(").append(NAME_CONDITION).append(" OR searchName IN (");
+        for (int index = 0; similarNames.size() > index; index++)
+            nameCondition.append(index == 0 ? "?" : ", ?");
+        builder.conditionList.addAll(conditionList);
+        builder.conditionList.set(nameConditionIndex, nameCondition.append("))").toString());
+        builder.arguments.addAll(arguments.subList(0, nameConditionIndex + 1));
+        builder.arguments.addAll(similarNames);
+        builder.arguments.addAll(arguments.subList(nameConditionIndex + 1, arguments.size()));
+        return builder;
+    }
+
+    /**
+     * Page of the groups of matching products which follow the group whose first product has
+     * the given expiration day and id, in the order of the product list. Without an id the page
+     * starts at the beginning of the list.
+     */
+    public SupportSQLiteQuery buildGroupedPageAfter(@Nullable Long expirationEpochDay, @Nullable Integer id,
+                                                    boolean inclusive, int limit) {
+        List<Object> pageArguments = new ArrayList<>();
+        String keyCondition = "";
+        if (id != null) {
+            String idOperator = inclusive ? " >= ?" : " > ?";
+            if (expirationEpochDay == null) {
+                keyCondition = " AND ((expirationDate IS NULL AND id" + idOperator + ") OR expirationDate IS NOT NULL)";
+                pageArguments.add(id);
+            } else {
+                keyCondition = " AND (expirationDate > ? OR (expirationDate = ? AND id" + idOperator + "))";
+                pageArguments.add(expirationEpochDay);
+                pageArguments.add(expirationEpochDay);
+                pageArguments.add(id);
+            }
+        }
+        return buildGroupedPage(keyCondition, pageArguments, "ASC", limit);
+    }
+
+    /**
+     * Page of the groups of matching products which precede the group whose first product has
+     * the given expiration day and id, from the nearest one.
+     */
+    public SupportSQLiteQuery buildGroupedPageBefore(@Nullable Long expirationEpochDay, int id, int limit) {
+        List<Object> pageArguments = new ArrayList<>();
+        String keyCondition;
+        if (expirationEpochDay == null) {
+            keyCondition = " AND expirationDate IS NULL AND id < ?";
+            pageArguments.add(id);
+        } else {
+            keyCondition = " AND (expirationDate IS NULL OR expirationDate < ? OR (expirationDate = ? AND id < ?))";
+            pageArguments.add(expirationEpochDay);
+            pageArguments.add(expirationEpochDay);
+            pageArguments.add(id);
+        }
+        return buildGroupedPage(keyCondition, pageArguments, "DESC", limit);
+    }
+
+    /**
+     * Selects the first matching product of every group through the indexes of the expiration
+     * date and the group key, so a page reads only the rows it shows and their groups.
+     */
+    private SupportSQLiteQuery buildGroupedPage(@NonNull String keyCondition, @NonNull List<Object> pageArguments,
+                                                @NonNull String order, int limit) {
+        StringBuilder memberConditions = new StringBuilder();
+        for (String condition : conditionList)
+            memberConditions.append(" AND ").append(condition);
+        List<Object> queryArguments = new ArrayList<>();
+        for (int counter = 0; MEMBER_CONDITIONS_COUNT > counter; counter++)
+            queryArguments.addAll(arguments);
+        queryArguments.addAll(pageArguments);
+        queryArguments.add(limit);
+        return new SimpleSQLiteQuery("SELECT " + ProductListItem.COLUMNS + ", " +
+                "(SELECT SUM(quantity) " + GROUP_MEMBERS + memberConditions + ") AS groupQuantity, " +
+                "products.id AS firstId, " +
+                "(SELECT MAX(id) " + GROUP_MEMBERS + memberConditions + ") AS lastId, " +
+                "(SELECT group_concat(id) " + GROUP_MEMBERS + memberConditions + ") AS memberIds " +
+                "FROM products WHERE 1" + memberConditions +
+                " AND NOT EXISTS (SELECT 1 " + GROUP_MEMBERS + " AND members.id < products.id" + memberConditions + ")" +
+                keyCondition + " ORDER BY expirationDate " + order + ", id " + order + " LIMIT ?",
+                queryArguments.toArray());
+    }
+
+    private void addCondition(@NonNull String condition, @NonNull Object argument) {
+        conditionList.add(condition);
+        arguments.add(argument);
+    }
+
+    /**
+     * Products without a date, and filter dates which can not be read, do not restrict
+     * the result.
+     */
+    private void addDateCondition(@NonNull String condition, String filterDate) {
+        Long filterEpochDay = DateConverter.toEpochDay(filterDate);
+        if (filterEpochDay == null)
+            return;
+        String column = condition.substring(0, condition.indexOf(' '));
+        addCondition("(" + column + " IS NULL OR " + condition + ")", filterEpochDay);
+    }
+
+    /**
+     * Composition, healing properties and dosage are found through the full-text index of
+     * products, where every word of a filter has to begin a word of its column.
+     */
+    private void addTextSearchCondition(@NonNull FilterModel filterProduct) {
+        StringBuilder matchQuery = new StringBuilder();
+        ProductSearch.appendMatchTerms(matchQuery, "composition", filterProduct.getComposition());
+        ProductSearch.appendMatchTerms(matchQuery, "healingProperties", filterProduct.getHealingProperties());
+        ProductSearch.appendMatchTerms(matchQuery, "dosage", filterProduct.getDosage());
+        if (matchQuery.length() > 0)
+            addCondition("id IN (SELECT docid FROM products_fts WHERE products_fts MATCH ?)", matchQuery.toString());
+    }
+
+    private void addFlagCondition(@NonNull String column, @NonNull FilterSet set) {
+        if (set != FilterSet.DISABLED)
+            addCondition(column + " = ?", set == FilterSet.YES ? 1 : 0);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.filter;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * <h1>FilterSnapshot</h1>
+ * Values of the filter model at one moment, which do not change when the model does. Snapshots
+ * of the same values are equal, so they can be the keys of the results of filters. A snapshot
+ * also tells whether it is a search by the name being typed or the filter set by the user.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public final class FilterSnapshot {
+
+    private final String name;
+    private final boolean isNameFuzzy;
+    private final String typeOfProduct;
+    private final String productFeatures;
+    private final String expirationDateSince;
+    private final String expirationDateFor;
+    private final String productionDateSince;
+    private final String productionDateFor;
+    private final String composition;
+    private final String healingProperties;
+    private final String dosage;
+    private final int volumeSince;
+    private final int volumeFor;
+    private final int weightSince;
+    private final int weightFor;
+    private final FilterSet hasSugar;
+    private final FilterSet hasSalt;
+    private final FilterSet isBio;
+    private final FilterSet isVege;
+    private final String taste;
+    private final boolean isSearch;
+    private final int hash;
+
+    FilterSnapshot(@NonNull FilterModel filterProduct, boolean isSearch) {
+        name = filterProduct.getName();
+        isNameFuzzy = filterProduct.getIsNameFuzzy();
+        typeOfProduct = filterProduct.getTypeOfProduct();
+        productFeatures = filterProduct.getProductCategory();
+        expirationDateSince = filterProduct.getExpirationDateSince();
+        expirationDateFor = filterProduct.getExpirationDateFor();
+        productionDateSince = filterProduct.getProductionDateSince();
+        productionDateFor = filterProduct.getProductionDateFor();
+        composition = filterProduct.getComposition();
+        healingProperties = filterProduct.getHealingProperties();
+        dosage = filterProduct.getDosage();
+        volumeSince = filterProduct.getVolumeSince();
+        volumeFor = filterProduct.getVolumeFor();
+        weightSince = filterProduct.getWeightSince();
+        weightFor = filterProduct.getWeightFor();
+        hasSugar = filterProduct.getHasSugar();
+        hasSalt = filterProduct.getHasSalt();
+        isBio = filterProduct.getIsBio();
+        isVege = filterProduct.getIsVege();
+        taste = filterProduct.getTaste();
+        this.isSearch = isSearch;
+        hash = Objects.hash(name, isNameFuzzy, typeOfProduct, productFeatures, expirationDateSince,
+                expirationDateFor, productionDateSince, productionDateFor, composition,
+                healingProperties, dosage, volumeSince, volumeFor, weightSince, weightFor,
+                hasSugar, hasSalt, isBio, isVege, taste, isSearch);
+    }
+
+    /**
+     * New filter model with the values of the snapshot.
+     */
+    public FilterModel toFilterModel() {
+        FilterModel filterProduct = new FilterModel();
+        filterProduct.setName(name);
+        filterProduct.setIsNameFuzzy(isNameFuzzy);
+        filterProduct.setTypeOfProduct(typeOfProduct);
+        filterProduct.setProductCategory(productFeatures);
+        filterProduct.setExpirationDateSince(expirationDateSince);
+        filterProduct.setExpirationDateFor(expirationDateFor);
+        filterProduct.setProductionDateSince(productionDateSince);
+        filterProduct.setProductionDateFor(productionDateFor);
+        filterProduct.setComposition(composition);
+        filterProduct.setHealingProperties(healingProperties);
+        filterProduct.setDosage(dosage);
+        filterProduct.setVolumeSince(volumeSince);
+        filterProduct.setVolumeFor(volumeFor);
+        filterProduct.setWeightSince(weightSince);
+        filterProduct.setWeightFor(weightFor);
+        filterProduct.setHasSugar(hasSugar);
+        filterProduct.setHasSalt(hasSalt);
+        filterProduct.setIsBio(isBio);
+        filterProduct.setIsVege(isVege);
+        filterProduct.setTaste(taste);
+        return filterProduct;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean getIsNameFuzzy() {
+        return isNameFuzzy;
+    }
+
+    public String getTypeOfProduct() {
+        return typeOfProduct;
+    }
+
+    public String getProductCategory() {
+        return productFeatures;
+    }
+
+    public String getExpirationDateSince() {
+        return expirationDateSince;
+    }
+
+    public String getExpirationDateFor() {
+        return expirationDateFor;
+    }
+
+    public String getProductionDateSince() {
+        return productionDateSince;
+    }
+
+    public String getProductionDateFor() {
+        return productionDateFor;
+    }
+
+    public String getComposition() {
+        return composition;
+    }
+
+    public String getHealingProperties() {
+        return healingProperties;
+    }
+
+    public String getDosage() {
+        return dosage;
+    }
+
+    public int getVolumeSince() {
+        return volumeSince;
+    }
+
+    public int getVolumeFor() {
+        return volumeFor;
+    }
+
+    public int getWeightSince() {
+        return weightSince;
+    }
+
+    public int getWeightFor() {
+        return weightFor;
+    }
+
+    public FilterSet getHasSugar() {
+        return hasSugar;
+    }
+
+    public FilterSet getHasSalt() {
+        return hasSalt;
+    }
+
+    public FilterSet getIsBio() {
+        return isBio;
+    }
+
+    public FilterSet getIsVege() {
+        return isVege;
+    }
+
+    public String getTaste() {
+        return taste;
+    }
+
+    public boolean getIsSearch() {
+        return isSearch;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object)
+            return true;
+        if (!(object instanceof FilterSnapshot))
+            return false;
+        FilterSnapshot snapshot = (FilterSnapshot) object;
+        return hash == snapshot.hash
+                && Objects.equals(name, snapshot.name)
+                && isNameFuzzy == snapshot.isNameFuzzy
+                && Objects.equals(typeOfProduct, snapshot.typeOfProduct)
+                && Objects.equals(productFeatures, snapshot.productFeatures)
+                && Objects.equals(expirationDateSince, snapshot.expirationDateSince)
+                && Objects.equals(expirationDateFor, snapshot.expirationDateFor)
+                && Objects.equals(productionDateSince, snapshot.productionDateSince)
+                && Objects.equals(productionDateFor, snapshot.productionDateFor)
+                && Objects.equals(composition, snapshot.composition)
+                && Objects.equals(healingProperties, snapshot.healingProperties)
+                && Objects.equals(dosage, snapshot.dosage)
+                && volumeSince == snapshot.volumeSince
+                && volumeFor == snapshot.volumeFor
+                && weightSince == snapshot.weightSince
+                && weightFor == snapshot.weightFor
+                && hasSugar == snapshot.hasSugar
+                && hasSalt == snapshot.hasSalt
+                && isBio == snapshot.isBio
+                && isVege == snapshot.isVege
+                && Objects.equals(taste, snapshot.taste)
+                && isSearch == snapshot.isSearch;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
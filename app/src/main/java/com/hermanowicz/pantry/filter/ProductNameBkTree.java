@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.filter;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * <h1>ProductNameBkTree</h1>
+ * BK-tree of the distinct lower case names of products, used to find the names the user may
+ * have meant when a name is misspelled. Every name is a node, and its children are kept by their
+ * edit distance from it, so a search for names within a few edits of a text visits only the
+ * children whose distance can still match.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class ProductNameBkTree {
+
+    private Node root;
+    private int nameCount = 0;
+    private int visitedNodeCount = 0;
+    private int[] previousRow = new int[16];
+    private int[] currentRow = new int[16];
+
+    /**
+     * Adds the units of products with the name, counted once more when the name is already
+     * in the tree.
+     */
+    public void add(@NonNull String searchName, int unitCount) {
+        if (root == null) {
+            root = new Node(searchName, unitCount);
+            nameCount++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = getDistance(searchName, node.searchName);
+            if (distance == 0) {
+                node.unitCount += unitCount;
+                return;
+            }
+            Node child = node.getChild(distance);
+            if (child == null) {
+                node.addChild(distance, new Node(searchName, unitCount));
+                nameCount++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    public int getNameCount() {
+        return nameCount;
+    }
+
+    /**
+     * Number of names compared with the text by the last search.
+     */
+    int getVisitedNodeCount() {
+        return visitedNodeCount;
+    }
+
+    /**
+     * Names within the given number of edits of the text, from the closest ones and, among
+     * names equally close, from the names of the most units.
+     */
+    public List<SimilarName> search(@NonNull String searchText, int maxDistance) {
+        List<SimilarName> similarNameList = new ArrayList<>();
+        visitedNodeCount = 0;
+        if (root == null)
+            return similarNameList;
+        Deque<Node> nodes = new ArrayDeque<>();
+        nodes.push(root);
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            visitedNodeCount++;
+            int distance = getDistance(searchText, node.searchName);
+            if (maxDistance >= distance)
+                similarNameList.add(new SimilarName(node.searchName, distance, node.unitCount));
+            for (int index = 0; node.childCount > index; index++) {
+                int childDistance = node.childDistances[index];
+                if (childDistance >= distance - maxDistance && distance + maxDistance >= childDistance)
+                    nodes.push(node.children[index]);
+            }
+        }
+        Collections.sort(similarNameList);
+        return similarNameList;
+    }
+
+    /**
+     * Levenshtein distance of the texts, computed in two rows reused by later calls.
+     */
+    int getDistance(@NonNull String text, @NonNull String otherText) {
+        int otherLength = otherText.length();
+        if (currentRow.length <= otherLength) {
+            previousRow = new int[otherLength + 1];
+            currentRow = new int[otherLength + 1];
+        }
+        for (int column = 0; otherLength >= column; column++)
+            previousRow[column] = column;
+        for (int row = 1; text.length() >= row; row++) {
+            char character = text.charAt(row - 1);
+            currentRow[0] = row;
+            for (int column = 1; otherLength >= column; column++) {
+                int substitution = previousRow[column - 1] + (character == otherText.charAt(column - 1) ? 0 : 1);
+                currentRow[column] = Math.min(substitution, Math.min(previousRow[column], currentRow[column - 1]) + 1);
+            }
+            int[] swappedRow = previousRow;
+            previousRow = currentRow;
+            currentRow = swappedRow;
+        }
+        return previousRow[otherLength];
+    }
+
+    private static final class Node {
+
+        private final String searchName;
+        private int unitCount;
+        private int[] childDistances = new int[0];
+        private Node[] children = new Node[0];
+        private int childCount = 0;
+
+        private Node(@NonNull String searchName, int unitCount) {
+            this.searchName = searchName;
+            this.unitCount = unitCount;
+        }
+
+        private Node getChild(int distance) {
+            for (int index = 0; childCount > index; index++) {
+                if (childDistances[index] == distance)
+                    return children[index];
+            }
+            return null;
+        }
+
+        private void addChild(int distance, @NonNull Node child) {
+            if (childCount == children.length) {
+                int capacity = Math.max(2, childCount * 2);
+                int[] newChildDistances = new int[capacity];
+                Node[] newChildren = new Node[capacity];
+                System.arraycopy(childDistances, 0, newChildDistances, 0, childCount);
+                System.arraycopy(children, 0, newChildren, 0, childCount);
+                childDistances = newChildDistances;
+                children = newChildren;
+            }
+            childDistances[childCount] = distance;
+            children[childCount] = child;
+            childCount++;
+        }
+    }
+
+    /**
+     * Name found by a search, with its number of edits from the text and the units of products
+     * having it.
+     */
+    public static final class SimilarName implements Comparable<SimilarName> {
+
+        private final String searchName;
+        private final int distance;
+        private final int unitCount;
+
+        SimilarName(@NonNull String searchName, int distance, int unitCount) {
+            this.searchName = searchName;
+            this.distance = distance;
+            this.unitCount = unitCount;
+        }
+
+        public String getSearchName() {
+            return searchName;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        public int getUnitCount() {
+            return unitCount;
+        }
+
+        @Override
+        public int compareTo(@NonNull SimilarName similarName) {
+            if (distance != similarName.distance)
+                return Integer.compare(distance, similarName.distance);
+            if (unitCount != similarName.unitCount)
+                return Integer.compare(similarName.unitCount, unitCount);
+            return searchName.compareTo(similarName.searchName);
+        }
+    }
+}
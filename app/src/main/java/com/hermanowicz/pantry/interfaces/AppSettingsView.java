@@ -41,16 +41,8 @@ public interface AppSettingsView {
 
     void showDialogClearProductDb();
 
-    void showDialogBackupCategoryDb();
-
-    void showDialogRestoreCategoryDb();
-
     void showDialogClearCategoryDb();
 
-    void showDialogBackupStorageLocationDb();
-
-    void showDialogRestoreStorageLocationDb();
-
     void showDialogClearStorageLocationDb();
 
     void showDbBackupHasBeenMade();
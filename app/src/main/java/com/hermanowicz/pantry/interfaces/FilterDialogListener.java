@@ -17,7 +17,7 @@
 
 package com.hermanowicz.pantry.interfaces;
 
-import com.hermanowicz.pantry.filter.Filter;
+import com.hermanowicz.pantry.filter.FilterSet;
 
 /**
  * <h1>FilterDialogListener</h1>
@@ -29,7 +29,9 @@ import com.hermanowicz.pantry.filter.Filter;
  */
 
 public interface FilterDialogListener {
-    void setFilterName(String filterName);
+    void setFilterName(String filterName, boolean isNameFuzzy);
+
+    void searchFilterName(String filterName, boolean isNameFuzzy);
 
     void setFilterExpirationDate(String filterExpirationDateSince, String filterExpirationDateFor);
 
@@ -43,6 +45,6 @@ public interface FilterDialogListener {
 
     void setFilterTaste(String filterTaste);
 
-    void setFilterProductFeatures(Filter.Set filterHasSugar, Filter.Set filterHasSalt,
-                                  Filter.Set filterIsBio, Filter.Set filterIsVege);
+    void setFilterProductFeatures(FilterSet filterHasSugar, FilterSet filterHasSalt,
+                                  FilterSet filterIsBio, FilterSet filterIsVege);
 }
\ No newline at end of file
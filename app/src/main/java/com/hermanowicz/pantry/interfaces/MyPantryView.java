@@ -38,6 +38,8 @@ public interface MyPantryView {
 
     void updateProductsRecyclerViewAdapter();
 
+    void refreshProductsRecyclerViewAdapter();
+
     void onPrintProducts(List<Product> productList);
 
     void onDeleteProducts(List<Product> productList);
@@ -30,6 +30,8 @@ public interface NewProductView {
 
     void updateProductFeaturesAdapter(String typeOfProductSpinnerValue);
 
+    void showStorageLocations(String[] storageLocationsArray);
+
     void showStatementOnAreProductsAdded(String statementToShow);
 
     void showExpirationDate(String date);
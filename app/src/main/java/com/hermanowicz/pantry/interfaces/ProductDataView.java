@@ -20,6 +20,8 @@ package com.hermanowicz.pantry.interfaces;
 public interface ProductDataView {
     void updateProductFeaturesAdapter(String typeOfProductSpinnerValue);
 
+    void showStorageLocations(String[] storageLocationsArray);
+
     void showExpirationDate(String date);
 
     void showProductionDate(String date);
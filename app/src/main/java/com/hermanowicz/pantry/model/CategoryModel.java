@@ -17,8 +17,13 @@
 
 package com.hermanowicz.pantry.model;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.hermanowicz.pantry.db.category.Category;
+import com.hermanowicz.pantry.interfaces.RepositoryCallback;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class CategoryModel {
@@ -26,30 +31,45 @@ public class CategoryModel {
     public final int MAX_CHAR_CATEGORY_NAME = 30;
     public final int MAX_CHAR_CATEGORY_DESCRIPTION = 200;
 
-    private final DatabaseOperations db;
+    private final PantryRepository repository;
+    private List<Category> categoryList = new ArrayList<>();
+    private Category category;
+
+    public CategoryModel(@NonNull PantryRepository repository){
+        this.repository = repository;
+    }
+
+    public void loadCategory(int id, @NonNull RepositoryCallback<Category> callback) {
+        repository.getCategory(id, category -> {
+            this.category = category;
+            callback.onResult(category);
+        });
+    }
 
-    public CategoryModel(DatabaseOperations databaseOperations){
-        this.db = databaseOperations;
+    public Category getCategory() {
+        return category;
     }
 
-    public Category getCategory(int id) {
-        return db.getCategory(id);
+    public void updateCategory(@NonNull Category category, @Nullable Runnable onComplete) {
+        repository.updateCategory(category, onComplete);
     }
 
-    public void updateCategory(Category category) {
-        db.updateCategory(category);
+    public void deleteCategory(int id, @Nullable Runnable onComplete) {
+        repository.deleteCategory(id, onComplete);
     }
 
-    public void deleteCategory(int id) {
-        db.deleteCategory(id);
+    public void loadCategoryList(@NonNull RepositoryCallback<List<Category>> callback){
+        repository.getOwnCategoriesList(categoryList -> {
+            this.categoryList = categoryList;
+            callback.onResult(categoryList);
+        });
     }
 
     public List<Category> getCategoryList(){
-        return db.getOwnCategoriesList();
+        return categoryList;
     }
 
     public boolean addCategory(Category newCategory){
-        List<Category> categoryList = db.getOwnCategoriesList();
         boolean correct = true;
         for(Category category : categoryList){
             if (category.getName().equals(newCategory.getName())) {
@@ -58,7 +78,7 @@ public class CategoryModel {
             }
         }
         if(correct) {
-            db.addCategory(newCategory);
+            repository.addCategory(newCategory, null);
             return true;
         }
         else
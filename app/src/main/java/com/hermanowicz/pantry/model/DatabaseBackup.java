@@ -21,9 +21,7 @@ import android.content.Context;
 
 import com.ebner.roomdatabasebackup.core.RoomBackup;
 import com.hermanowicz.pantry.R;
-import com.hermanowicz.pantry.db.category.CategoryDb;
-import com.hermanowicz.pantry.db.product.ProductDb;
-import com.hermanowicz.pantry.db.storagelocation.StorageLocationDb;
+import com.hermanowicz.pantry.db.AppDb;
 import com.hermanowicz.pantry.util.DateHelper;
 
 public class DatabaseBackup {
@@ -32,7 +30,7 @@ public class DatabaseBackup {
         final RoomBackup roomBackup = new RoomBackup();
         String currentTime = DateHelper.getTimeStamp();
         roomBackup.context(context);
-        roomBackup.database(ProductDb.getInstance(context));
+        roomBackup.database(AppDb.getInstance(context));
         roomBackup.customBackupFileName("ProductDbBackup:" + currentTime);
         roomBackup.customEncryptPassword(context.getString(R.string.database_secretcode));
         roomBackup.enableLogDebug(true);
@@ -42,62 +40,10 @@ public class DatabaseBackup {
         roomBackup.backup();
     }
 
-    public static void backupCategoryDb(Context context) {
-        final RoomBackup roomBackup = new RoomBackup();
-        String currentTime = DateHelper.getTimeStamp();
-        roomBackup.context(context);
-        roomBackup.database(CategoryDb.getInstance(context));
-        roomBackup.customBackupFileName("CategoryDbBackup:" + currentTime);
-        roomBackup.customEncryptPassword(context.getString(R.string.database_secretcode));
-        roomBackup.enableLogDebug(true);
-        roomBackup.backupIsEncrypted(true);
-        roomBackup.useExternalStorage(true);
-        roomBackup.maxFileCount(15);
-        roomBackup.backup();
-    }
-
-    public static void backupStorageLocationDb(Context context) {
-        final RoomBackup roomBackup = new RoomBackup();
-        String currentTime = DateHelper.getTimeStamp();
-        roomBackup.context(context);
-        roomBackup.database(StorageLocationDb.getInstance(context));
-        roomBackup.customBackupFileName("StorageLocationDbBackup:" + currentTime);
-        roomBackup.customEncryptPassword(context.getString(R.string.database_secretcode));
-        roomBackup.enableLogDebug(true);
-        roomBackup.backupIsEncrypted(true);
-        roomBackup.useExternalStorage(true);
-        roomBackup.maxFileCount(15);
-        roomBackup.backup();
-    }
-
     public static void restoreProductDb(Context context){
         final RoomBackup roomBackup = new RoomBackup();
         roomBackup.context(context);
-        roomBackup.database(ProductDb.getInstance(context));
-        roomBackup.customEncryptPassword(context.getString(R.string.database_secretcode));
-        roomBackup.customRestoreDialogTitle(context.getString(R.string.AppSettingsActivity_choose_file_to_restore));
-        roomBackup.enableLogDebug(true);
-        roomBackup.backupIsEncrypted(true);
-        roomBackup.useExternalStorage(true);
-        roomBackup.restore();
-    }
-
-    public static void restoreCategoryDb(Context context){
-        final RoomBackup roomBackup = new RoomBackup();
-        roomBackup.context(context);
-        roomBackup.database(CategoryDb.getInstance(context));
-        roomBackup.customEncryptPassword(context.getString(R.string.database_secretcode));
-        roomBackup.customRestoreDialogTitle(context.getString(R.string.AppSettingsActivity_choose_file_to_restore));
-        roomBackup.enableLogDebug(true);
-        roomBackup.backupIsEncrypted(true);
-        roomBackup.useExternalStorage(true);
-        roomBackup.restore();
-    }
-
-    public static void restoreStorageLocationDb(Context context){
-        final RoomBackup roomBackup = new RoomBackup();
-        roomBackup.context(context);
-        roomBackup.database(StorageLocationDb.getInstance(context));
+        roomBackup.database(AppDb.getInstance(context));
         roomBackup.customEncryptPassword(context.getString(R.string.database_secretcode));
         roomBackup.customRestoreDialogTitle(context.getString(R.string.AppSettingsActivity_choose_file_to_restore));
         roomBackup.enableLogDebug(true);
@@ -107,14 +53,14 @@ public class DatabaseBackup {
     }
 
     public static void clearProductDb (Context context){
-        ProductDb.getInstance(context).productsDao().clearDb();
+        new PantryRepository(context).clearProducts(null);
     }
 
     public static void clearCategoryDb (Context context){
-        CategoryDb.getInstance(context).categoryDao().clearDb();
+        new PantryRepository(context).clearCategories(null);
     }
 
     public static void clearStorageLocationDb (Context context){
-        StorageLocationDb.getInstance(context).storageLocationDao().clearDb();
+        new PantryRepository(context).clearStorageLocations(null);
     }
 }
\ No newline at end of file
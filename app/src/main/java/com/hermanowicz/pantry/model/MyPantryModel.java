@@ -23,84 +23,69 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
+import androidx.paging.PagedList;
 
 import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.filter.Filter;
 import com.hermanowicz.pantry.filter.FilterModel;
+import com.hermanowicz.pantry.filter.FilterSet;
+import com.hermanowicz.pantry.filter.FilterSnapshot;
+import com.hermanowicz.pantry.interfaces.RepositoryCallback;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h1>MyPantryModel</h1>
+ * Model of the pantry list. The list is one long-lived pipeline: every change of the filter
+ * sets a snapshot of it, which also tells whether it is a search by the name being typed,
+ * equal snapshots in a row are skipped, and the list of the groups of products is switched to
+ * the one of the new snapshot. Selected groups are kept by their group keys, so they stay
+ * selected when the list is loaded again. The lists are filtered, grouped and
+ * sorted by the database on the disk I/O executor, so the view observes the pipeline once
+ * and gets one list for every change.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.0
+ */
 
 public class MyPantryModel {
 
-    private LiveData<List<Product>> productLiveData;
-    private final MutableLiveData<FilterModel> product = new MutableLiveData<>();
+    private final MutableLiveData<FilterSnapshot> filterSnapshotLiveData = new MutableLiveData<>();
+    private final LiveData<PagedList<ProductGroupListItem>> productLiveData;
+    private LiveData<PagedList<ProductGroupListItem>> filteredProductLiveData;
+    private FilterSnapshot searchedFilterSnapshot;
     private FilterModel filterProduct = new FilterModel();
-    private Filter filter;
-    private List<Product> productList;
-    private List<Product> selectedProductsGroupList = new ArrayList<>();
-    private final List<GroupProducts> groupProductsList = new ArrayList<>();
+    private final Map<String, ProductGroupListItem> selectedProductGroups = new LinkedHashMap<>();
+    private List<ProductGroupListItem> groupProductsList = new ArrayList<>();
     private boolean isMultiSelect = false;
-    private final DatabaseOperations databaseOperations;
+    private final PantryRepository repository;
 
     public MyPantryModel(Context context){
-        databaseOperations = new DatabaseOperations(context);
-    }
-
-    private void groupProducts(@NonNull List<Product> productList){
-        groupProductsList.clear();
-        List<GroupProducts> toAddGroupProductsList = new ArrayList<>();
-        List<GroupProducts> toRemoveGroupProductsList = new ArrayList<>();
-
-        for (Product product: productList){
-            boolean productOnList = false;
-            GroupProducts testedGroupProducts = new GroupProducts(product, 1);
-            for (GroupProducts groupProducts : groupProductsList) {
-                if (groupProducts.getProduct().getName().toLowerCase().contains(product.getName().toLowerCase())
-                        && groupProducts.getProduct().getExpirationDate().equals(product.getExpirationDate())
-                        && groupProducts.getProduct().getProductFeatures().equals(product.getProductFeatures())
-                        && groupProducts.getProduct().getComposition().equals(product.getComposition())
-                        && groupProducts.getProduct().getHealingProperties().equals(product.getHealingProperties())
-                        && groupProducts.getProduct().getDosage().equals(product.getDosage())
-                        && groupProducts.getProduct().getVolume() == product.getVolume()
-                        && groupProducts.getProduct().getWeight() == product.getWeight()
-                        && groupProducts.getProduct().getTypeOfProduct().equals(product.getTypeOfProduct())
-                        && groupProducts.getProduct().getProductFeatures().equals(product.getProductFeatures())
-                        && groupProducts.getProduct().getHasSalt() == product.getHasSalt()
-                        && groupProducts.getProduct().getHasSugar() == product.getHasSugar()
-                        && groupProducts.getProduct().getIsBio() == product.getIsBio()
-                        && groupProducts.getProduct().getIsVege() == product.getIsVege()
-                        && groupProducts.getProduct().getTaste().equals(product.getTaste())) {
-                    productOnList = true;
-                    testedGroupProducts = groupProducts;
-                    break;
-                }
-            }
-            if(productOnList) {
-                toRemoveGroupProductsList.add(testedGroupProducts);
-                testedGroupProducts.setQuantity(testedGroupProducts.getQuantity() + 1);
-                toAddGroupProductsList.add(testedGroupProducts);
-            }
-            else {
-                GroupProducts newGroupProduct = new GroupProducts(product, 1);
-                toAddGroupProductsList.add(newGroupProduct);
-            }
-            groupProductsList.removeAll(toRemoveGroupProductsList);
-            groupProductsList.addAll(toAddGroupProductsList);
-            toAddGroupProductsList.clear();
-            toRemoveGroupProductsList.clear();
-        }
+        this(new PantryRepository(context));
     }
 
-    public void deleteSelectedProducts(){
-        databaseOperations.deleteProducts(getAllSelectedProductList());
+    public MyPantryModel(@NonNull PantryRepository repository){
+        this.repository = repository;
+        productLiveData = Transformations.switchMap(Transformations.distinctUntilChanged(filterSnapshotLiveData),
+                this::getFilteredProductLiveData);
     }
 
-    public LiveData<List<Product>> getProductLiveData() {
+    public void deleteSelectedProducts(@NonNull RepositoryCallback<List<Product>> callback){
+        repository.deleteProductsByIds(getSelectedProductIds(), callback);
+    }
+
+    /**
+     * The list of the current filter. It is the same for the whole life of the model.
+     */
+    public LiveData<PagedList<ProductGroupListItem>> getProductLiveData() {
         return productLiveData;
     }
 
-    public List<GroupProducts> getGroupProductsList(){
+    public List<ProductGroupListItem> getGroupProductsList(){
         return groupProductsList;
     }
 
@@ -112,108 +97,125 @@ public class MyPantryModel {
         return this.isMultiSelect;
     }
 
-    public List<Product> getGroupsSelectedProductList(){
-        return selectedProductsGroupList;
+    public Set<String> getSelectedGroupKeys(){
+        return selectedProductGroups.keySet();
     }
 
-    public List<Product> getAllSelectedProductList(){
-        List<Product> productList = new ArrayList<>();
-        for (Product product : selectedProductsGroupList){
-            List<Product> similarProducts = databaseOperations.getSimilarProductsList(product);
-            productList.addAll(similarProducts);
-        }
-        return productList;
+    public void loadAllSelectedProductList(@NonNull RepositoryCallback<List<Product>> callback){
+        repository.getProductsByIds(getSelectedProductIds(), callback);
     }
 
-    public void clearSelectList(){
-        this.selectedProductsGroupList = new ArrayList<>();
+    private List<Integer> getSelectedProductIds(){
+        List<Integer> productIds = new ArrayList<>();
+        for(ProductGroupListItem groupProducts : selectedProductGroups.values())
+            productIds.addAll(groupProducts.getMemberIdList());
+        return productIds;
     }
 
-    public void setProductList(List<Product> productList) {
-        this.productList = productList;
-        groupProductsList.clear();
-        filter = new Filter(this.productList);
-        groupProducts(productList);
+    public void clearSelectList(){
+        selectedProductGroups.clear();
     }
 
-    public void setAllProductsList(){
-        this.productList = databaseOperations.getAllProducts();
-        groupProducts(productList);
+    public void setGroupProductsList(@NonNull List<ProductGroupListItem> groupProductsList) {
+        this.groupProductsList = groupProductsList;
     }
 
-    public List<Product> getProductList(){
-        return this.productList;
+    /**
+     * Sets the current filter as the source of the list.
+     */
+    public void setProductsLiveData(){
+        filterSnapshotLiveData.setValue(filterProduct.toSnapshot());
     }
 
-    public void setProductsLiveData(){
-        this.productLiveData = databaseOperations.getProductLiveData();
+    /**
+     * Shows the products found by the name being typed. The search replaces the previous one,
+     * which is cancelled, until its name is confirmed.
+     */
+    public void searchProductListByName(String fltrName, boolean isNameFuzzy) {
+        filterProduct.setName(fltrName);
+        filterProduct.setIsNameFuzzy(fltrName != null && isNameFuzzy);
+        filterSnapshotLiveData.setValue(filterProduct.toSearchSnapshot());
+    }
+
+    /**
+     * The list of a name search confirmed as the filter is kept, any other search is cancelled.
+     */
+    private LiveData<PagedList<ProductGroupListItem>> getFilteredProductLiveData(@NonNull FilterSnapshot filterSnapshot){
+        FilterModel filterModel = filterSnapshot.toFilterModel();
+        if(filterSnapshot.getIsSearch()) {
+            filteredProductLiveData = repository.searchFilteredProductGroupsLiveData(filterModel);
+            searchedFilterSnapshot = filterModel.toSnapshot();
+        } else if(filterSnapshot.equals(searchedFilterSnapshot)) {
+            repository.keepProductGroupsSearch();
+            searchedFilterSnapshot = null;
+        } else {
+            repository.cancelProductGroupsSearch();
+            searchedFilterSnapshot = null;
+            filteredProductLiveData = repository.getFilteredProductGroupsLiveData(filterModel);
+        }
+        return filteredProductLiveData;
     }
 
     public void addMultiSelect(int position) {
-        if (selectedProductsGroupList.contains(groupProductsList.get(position).getProduct()))
-            selectedProductsGroupList.remove(groupProductsList.get(position).getProduct());
+        ProductGroupListItem groupProducts = groupProductsList.get(position);
+        String groupKey = groupProducts.getProduct().getGroupKey();
+        if (selectedProductGroups.containsKey(groupKey))
+            selectedProductGroups.remove(groupKey);
         else
-            selectedProductsGroupList.add(groupProductsList.get(position).getProduct());
+            selectedProductGroups.put(groupKey, groupProducts);
     }
 
     public void clearFilters(){
         filterProduct = new FilterModel();
     }
 
-    public void filterProductListByName(String fltrName) {
+    public void filterProductListByName(String fltrName, boolean isNameFuzzy) {
         filterProduct.setName(fltrName);
-        product.setValue(filterProduct);
-        productLiveData = Transformations.switchMap(product, filter::filterByProduct);
+        filterProduct.setIsNameFuzzy(fltrName != null && isNameFuzzy);
+        setProductsLiveData();
     }
 
     public void filterProductListByTypeOfProduct(String fltrTypeOfProduct, String fltrProductCategory) {
         filterProduct.setTypeOfProduct(fltrTypeOfProduct);
         filterProduct.setProductCategory(fltrProductCategory);
-        product.setValue(filterProduct);
-        productLiveData = Transformations.switchMap(product, filter::filterByProduct);
+        setProductsLiveData();
     }
 
     public void filterProductListByExpirationDate(String fltrExpirationDateSince, String fltrExpirationDateFor) {
         filterProduct.setExpirationDateSince(fltrExpirationDateSince);
         filterProduct.setExpirationDateFor(fltrExpirationDateFor);
-        product.setValue(filterProduct);
-        productLiveData = Transformations.switchMap(product, filter::filterByProduct);
+        setProductsLiveData();
     }
 
     public void filterProductListByProductionDate(String fltrProductionDateSince, String fltrProductionDateFor) {
         filterProduct.setProductionDateSince(fltrProductionDateSince);
         filterProduct.setProductionDateFor(fltrProductionDateFor);
-        product.setValue(filterProduct);
-        productLiveData = Transformations.switchMap(product, filter::filterByProduct);
+        setProductsLiveData();
     }
 
     public void filterProductListByVolume(int fltrVolumeSince, int fltrVolumeFor) {
         filterProduct.setVolumeSince(fltrVolumeSince);
         filterProduct.setVolumeFor(fltrVolumeFor);
-        product.setValue(filterProduct);
-        productLiveData = Transformations.switchMap(product, filter::filterByProduct);
+        setProductsLiveData();
     }
 
     public void filterProductListByWeight(int fltrWeightSince, int fltrWeightFor) {
         filterProduct.setWeightSince(fltrWeightSince);
         filterProduct.setWeightFor(fltrWeightFor);
-        product.setValue(filterProduct);
-        productLiveData = Transformations.switchMap(product, filter::filterByProduct);
+        setProductsLiveData();
     }
 
-    public void filterProductListByProductFeatures(Filter.Set fltrHasSugar, Filter.Set fltrHasSalt, Filter.Set fltrIsBio, Filter.Set fltrIsVege) {
+    public void filterProductListByProductFeatures(FilterSet fltrHasSugar, FilterSet fltrHasSalt, FilterSet fltrIsBio, FilterSet fltrIsVege) {
         filterProduct.setHasSugar(fltrHasSugar);
         filterProduct.setHasSalt(fltrHasSalt);
         filterProduct.setIsBio(fltrIsBio);
         filterProduct.setIsVege(fltrIsVege);
-        product.setValue(filterProduct);
-        productLiveData = Transformations.switchMap(product, filter::filterByProduct);
+        setProductsLiveData();
     }
 
     public void filterProductListByTaste(String fltrTaste){
         filterProduct.setTaste(fltrTaste);
-        product.setValue(filterProduct);
-        productLiveData = Transformations.switchMap(product, filter::filterByProduct);
+        setProductsLiveData();
     }
 
     public FilterModel getFilterProduct(){
@@ -37,31 +37,42 @@ public class NewProductModel {
     private String taste;
     private int quantity;
     private List<Product> productList = new ArrayList<>();
-    private final DatabaseOperations databaseOperations;
+    private String[] ownCategoriesArray = new String[0];
+    private String[] storageLocationsArray = new String[0];
+    private final PantryRepository repository;
 
-    public NewProductModel(@NonNull Resources resources, @NonNull DatabaseOperations databaseOperations) {
+    public NewProductModel(@NonNull Resources resources, @NonNull PantryRepository repository) {
         this.resources = resources;
-        this.databaseOperations = databaseOperations;
+        this.repository = repository;
+    }
+
+    public void loadOwnCategoriesAndStorageLocations(@NonNull Runnable onLoaded) {
+        repository.getOwnCategoriesArray(ownCategoriesArray -> this.ownCategoriesArray = ownCategoriesArray);
+        repository.getStorageLocationsArray(storageLocationsArray -> {
+            this.storageLocationsArray = storageLocationsArray;
+            onLoaded.run();
+        });
     }
 
     public void createProductsList(@NonNull Product product) {
-        for (int counter = 1; counter <= quantity; counter++) {
-            product.setTaste(taste);
-            product.setExpirationDate(expirationDate);
-            product.setProductionDate(productionDate);
-            product.setHashCode(String.valueOf(product.hashCode()));
-            if(product.getStorageLocation().equals("null"))
-                product.setStorageLocation("");
-            if(product.getProductFeatures().equals(resources.getString(R.string.Product_choose)))
-                product.setProductFeatures("");
-
-            productList.add(product);
-        }
+        product.setTaste(taste);
+        product.setExpirationDate(expirationDate);
+        product.setProductionDate(productionDate);
+        product.setQuantity(quantity);
+        product.setHashCode(String.valueOf(product.hashCode()));
+        if(product.getStorageLocation().equals("null"))
+            product.setStorageLocation("");
+        if(product.getProductFeatures().equals(resources.getString(R.string.Product_choose)))
+            product.setProductFeatures("");
+
+        productList.add(product);
     }
 
-    public void addProducts(){
-        databaseOperations.addProducts(productList);
-        productList = databaseOperations.getSimilarProductsList(productList.get(0));
+    public void addProducts(@NonNull Runnable onAdded){
+        repository.addProducts(productList, addedProductList -> {
+            productList = addedProductList;
+            onAdded.run();
+        });
     }
 
     public void setExpirationDate(int year, int month, int day) {
@@ -136,11 +147,11 @@ public class NewProductModel {
     }
 
     public String[] getOwnCategoriesArray() {
-        return databaseOperations.getOwnCategoriesArray();
+        return ownCategoriesArray;
     }
 
     public String[] getStorageLocationsArray() {
-        return databaseOperations.getStorageLocationsArray();
+        return storageLocationsArray;
     }
 
     public List<Product> getProductList() {
@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.model;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.paging.LivePagedListBuilder;
+import androidx.paging.PagedList;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.category.Category;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductsDao;
+import com.hermanowicz.pantry.db.storagelocation.StorageLocation;
+import com.hermanowicz.pantry.filter.FilterModel;
+import com.hermanowicz.pantry.interfaces.ProductChangeListener;
+import com.hermanowicz.pantry.interfaces.RepositoryCallback;
+import com.hermanowicz.pantry.util.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+/**
+ * <h1>PantryRepository</h1>
+ * Access to products, own categories and storage locations. Every operation runs on the disk
+ * I/O executor and returns a future; the optional callback receives the result on the main
+ * thread. Operations are executed and their callbacks delivered in the order they were called.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class PantryRepository {
+
+    private static final int PRODUCT_GROUPS_PAGE_SIZE = 50;
+
+    private final AppDb appDb;
+    private final AppExecutors appExecutors;
+    private final ProductChangeFeed productChangeFeed;
+    private final SimilarProductNames similarProductNames;
+    private final ProductGroupPageCache productGroupPageCache;
+    private ProductGroupDataSource.Factory searchFactory;
+
+    public PantryRepository(@NonNull Context context){
+        this(AppDb.getInstance(context), AppExecutors.getInstance(), ProductChangeFeed.getInstance(context),
+                SimilarProductNames.getInstance(context), ProductGroupPageCache.getInstance(context));
+    }
+
+    public PantryRepository(@NonNull AppDb appDb, @NonNull AppExecutors appExecutors,
+                            @NonNull ProductChangeFeed productChangeFeed,
+                            @NonNull SimilarProductNames similarProductNames,
+                            @NonNull ProductGroupPageCache productGroupPageCache){
+        this.appDb = appDb;
+        this.appExecutors = appExecutors;
+        this.productChangeFeed = productChangeFeed;
+        this.similarProductNames = similarProductNames;
+        this.productGroupPageCache = productGroupPageCache;
+    }
+
+    /**
+     * A failed operation is logged, as its callback is not called and its future may not be
+     * read, and the failure is kept in the future.
+     */
+    private <T> Future<T> submit(@NonNull Callable<T> task, @Nullable RepositoryCallback<T> callback){
+        return appExecutors.diskIO().submit(() -> {
+            T result;
+            try {
+                result = task.call();
+            } catch (Exception e) {
+                Log.e("PantryRepository", "Database operation failed", e);
+                throw e;
+            }
+            if(callback != null)
+                appExecutors.mainThread().execute(() -> callback.onResult(result));
+            return result;
+        });
+    }
+
+    /**
+     * Runs a write and delivers the products it changed to the change listeners before
+     * the callback.
+     */
+    private <T> Future<T> submitWrite(@NonNull Callable<T> task, @Nullable RepositoryCallback<T> callback){
+        return submit(() -> {
+            T result = task.call();
+            productChangeFeed.deliverChanges();
+            return result;
+        }, callback);
+    }
+
+    private Future<?> execute(@NonNull Runnable task, @Nullable Runnable onComplete){
+        return appExecutors.diskIO().submit(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Log.e("PantryRepository", "Database operation failed", e);
+                throw e;
+            }
+            productChangeFeed.deliverChanges();
+            if(onComplete != null)
+                appExecutors.mainThread().execute(onComplete);
+        });
+    }
+
+    private Product findProduct(int productId){
+        Product product = appDb.productsDao().getProduct(productId);
+        if(product == null)
+            product = appDb.productsDao().getProductByLabelId(productId);
+        return product;
+    }
+
+    private List<Product> findSimilarProducts(@NonNull List<Product> groupProductList){
+        List<Product> productList = new ArrayList<>();
+        for(Product product : groupProductList)
+            productList.addAll(appDb.productsDao().getProductsByGroupKey(product.getGroupKey()));
+        return productList;
+    }
+
+    private List<Product> findProductsByIds(@NonNull List<Integer> productIds){
+        List<Product> productList = new ArrayList<>(productIds.size());
+        for(int fromIndex = 0; productIds.size() > fromIndex; fromIndex += ProductsDao.MAX_QUERY_IDS)
+            productList.addAll(appDb.productsDao().getProductsByIds(
+                    productIds.subList(fromIndex, Math.min(productIds.size(), fromIndex + ProductsDao.MAX_QUERY_IDS))));
+        return productList;
+    }
+
+    private void removeProductsByIds(@NonNull List<Integer> productIds){
+        for(int fromIndex = 0; productIds.size() > fromIndex; fromIndex += ProductsDao.MAX_QUERY_IDS)
+            appDb.productsDao().deleteProductsByIds(
+                    productIds.subList(fromIndex, Math.min(productIds.size(), fromIndex + ProductsDao.MAX_QUERY_IDS)));
+    }
+
+    private static List<Integer> getProductIds(@NonNull List<Product> productList){
+        List<Integer> productIds = new ArrayList<>(productList.size());
+        for(Product product : productList)
+            productIds.add(product.getId());
+        return productIds;
+    }
+
+    /**
+     * Groups of similar products matching the filter, loaded page by page on the disk I/O
+     * executor as the list is scrolled. A change of the products the list has loaded loads
+     * a new list around the position of the current one. The first page of a recently used filter is
+     * shown without reading the database, until the products change.
+     */
+    public LiveData<PagedList<ProductGroupListItem>> getFilteredProductGroupsLiveData(@NonNull FilterModel filterProduct){
+        return buildProductGroupsLiveData(new ProductGroupDataSource.Factory(appDb, productChangeFeed, filterProduct,
+                similarProductNames, productGroupPageCache));
+    }
+
+    /**
+     * Groups of products matching the filter whose name is being typed. The search started
+     * before is cancelled, so the disk I/O executor does not read its pages any more.
+     */
+    public LiveData<PagedList<ProductGroupListItem>> searchFilteredProductGroupsLiveData(@NonNull FilterModel filterProduct){
+        cancelProductGroupsSearch();
+        searchFactory = new ProductGroupDataSource.Factory(appDb, productChangeFeed, filterProduct,
+                similarProductNames, productGroupPageCache);
+        return buildProductGroupsLiveData(searchFactory);
+    }
+
+    /**
+     * Keeps the list of the last search, when its name is confirmed as the filter.
+     */
+    public void keepProductGroupsSearch(){
+        searchFactory = null;
+    }
+
+    public void cancelProductGroupsSearch(){
+        if(searchFactory != null) {
+            searchFactory.cancel();
+            searchFactory = null;
+        }
+    }
+
+    private LiveData<PagedList<ProductGroupListItem>> buildProductGroupsLiveData(@NonNull ProductGroupDataSource.Factory factory){
+        PagedList.Config config = new PagedList.Config.Builder()
+                .setPageSize(PRODUCT_GROUPS_PAGE_SIZE)
+                .setPrefetchDistance(PRODUCT_GROUPS_PAGE_SIZE)
+                .setInitialLoadSizeHint(PRODUCT_GROUPS_PAGE_SIZE * 2)
+                .setEnablePlaceholders(false)
+                .build();
+        return new LivePagedListBuilder<>(factory, config)
+                .setFetchExecutor(appExecutors.diskIO())
+                .build();
+    }
+
+    /**
+     * The listener receives on the main thread the products inserted, updated and deleted by
+     * every transaction committed after the operations already called.
+     */
+    public void addProductChangeListener(@NonNull ProductChangeListener listener){
+        productChangeFeed.addListener(listener);
+    }
+
+    public void removeProductChangeListener(@NonNull ProductChangeListener listener){
+        productChangeFeed.removeListener(listener);
+    }
+
+    public Future<List<Product>> getAllProducts(@Nullable RepositoryCallback<List<Product>> callback){
+        return submit(() -> appDb.productsDao().getAllProductsList(), callback);
+    }
+
+    public Future<Integer> getIdOfLastProduct(@Nullable RepositoryCallback<Integer> callback){
+        return submit(() -> appDb.productsDao().getIdLastProduct(), callback);
+    }
+
+    /**
+     * Finds the product, or the batch a label id was folded into, and returns all products
+     * similar to it. The result is null when there is no such product.
+     */
+    public Future<List<Product>> getProductGroup(int productId, @Nullable RepositoryCallback<List<Product>> callback){
+        return submit(() -> {
+            Product product = findProduct(productId);
+            if(product == null)
+                return null;
+            return appDb.productsDao().getProductsByGroupKey(product.getGroupKey());
+        }, callback);
+    }
+
+    public Future<String> getLabelHashCode(int labelId, @Nullable RepositoryCallback<String> callback){
+        return submit(() -> appDb.productsDao().getLabelHashCode(labelId), callback);
+    }
+
+    /**
+     * Products with the given ids, read in as few queries as the database allows.
+     */
+    public Future<List<Product>> getProductsByIds(@NonNull List<Integer> productIds,
+                                                  @Nullable RepositoryCallback<List<Product>> callback){
+        return submit(() -> findProductsByIds(productIds), callback);
+    }
+
+    /**
+     * Stores new products and returns them, together with the similar products already
+     * in the pantry, with their database ids.
+     */
+    public Future<List<Product>> addProducts(@NonNull List<Product> productList,
+                                             @Nullable RepositoryCallback<List<Product>> callback){
+        return submitWrite(() -> {
+            if(productList.isEmpty())
+                return new ArrayList<>();
+            appDb.productsDao().addProducts(productList);
+            return findSimilarProducts(productList.subList(0, 1));
+        }, callback);
+    }
+
+    public Future<?> updateProducts(@NonNull List<Product> productList, @Nullable Runnable onComplete){
+        return execute(() -> appDb.productsDao().updateProduct(productList.toArray(new Product[0])), onComplete);
+    }
+
+    public Future<?> updateProductBatch(@NonNull Product batch, @NonNull List<Product> mergedProductList,
+                                        @Nullable Runnable onComplete){
+        return execute(() -> appDb.productsDao().mergeIntoBatch(batch, mergedProductList), onComplete);
+    }
+
+    public Future<?> updatePhoto(@NonNull List<Product> productList, @NonNull String photoName,
+                                 @NonNull String photoDescription, @Nullable Runnable onComplete){
+        List<Integer> productIds = getProductIds(productList);
+        return execute(() -> appDb.runInTransaction(() -> {
+            for(int fromIndex = 0; productIds.size() > fromIndex; fromIndex += ProductsDao.MAX_QUERY_IDS)
+                appDb.productsDao().updatePhoto(productIds.subList(fromIndex,
+                        Math.min(productIds.size(), fromIndex + ProductsDao.MAX_QUERY_IDS)), photoName, photoDescription);
+        }), onComplete);
+    }
+
+    public Future<?> moveProductGroup(@NonNull String groupKey, @NonNull String storageLocation,
+                                      @Nullable Runnable onComplete){
+        return execute(() -> appDb.productsDao().moveProductGroup(groupKey, storageLocation), onComplete);
+    }
+
+    public Future<?> recategorizeProductGroup(@NonNull String groupKey, @NonNull String typeOfProduct,
+                                              @NonNull String productFeatures, @Nullable Runnable onComplete){
+        return execute(() -> appDb.productsDao().recategorizeProductGroup(groupKey, typeOfProduct, productFeatures),
+                onComplete);
+    }
+
+    public Future<?> deleteProducts(@NonNull List<Product> productList, @Nullable Runnable onComplete){
+        List<Integer> productIds = getProductIds(productList);
+        return execute(() -> appDb.runInTransaction(() -> removeProductsByIds(productIds)), onComplete);
+    }
+
+    /**
+     * Deletes the products with the given ids and returns the deleted products.
+     */
+    public Future<List<Product>> deleteProductsByIds(@NonNull List<Integer> productIds,
+                                                     @Nullable RepositoryCallback<List<Product>> callback){
+        return submitWrite(() -> appDb.runInTransaction(() -> {
+            List<Product> productList = findProductsByIds(productIds);
+            removeProductsByIds(getProductIds(productList));
+            return productList;
+        }), callback);
+    }
+
+    public Future<List<Product>> deleteProductGroup(int productId, @Nullable RepositoryCallback<List<Product>> callback){
+        return submitWrite(() -> appDb.runInTransaction(() -> {
+            List<Product> productList = new ArrayList<>();
+            Product product = findProduct(productId);
+            if(product != null) {
+                productList.addAll(appDb.productsDao().getProductsByGroupKey(product.getGroupKey()));
+                removeProductsByIds(getProductIds(productList));
+            }
+            return productList;
+        }), callback);
+    }
+
+    public Future<?> clearProducts(@Nullable Runnable onComplete){
+        return execute(() -> appDb.productsDao().clearDb(), onComplete);
+    }
+
+    public Future<String[]> getOwnCategoriesArray(@Nullable RepositoryCallback<String[]> callback){
+        return submit(() -> appDb.categoryDao().getAllCategoriesArray(), callback);
+    }
+
+    public Future<List<Category>> getOwnCategoriesList(@Nullable RepositoryCallback<List<Category>> callback){
+        return submit(() -> appDb.categoryDao().getAllOwnCategories(), callback);
+    }
+
+    public Future<Category> getCategory(int id, @Nullable RepositoryCallback<Category> callback){
+        return submit(() -> appDb.categoryDao().getCategory(id), callback);
+    }
+
+    public Future<?> addCategory(@NonNull Category category, @Nullable Runnable onComplete){
+        return execute(() -> appDb.categoryDao().addCategory(category), onComplete);
+    }
+
+    public Future<?> updateCategory(@NonNull Category category, @Nullable Runnable onComplete){
+        return execute(() -> appDb.categoryDao().updateCategory(category), onComplete);
+    }
+
+    public Future<?> deleteCategory(int id, @Nullable Runnable onComplete){
+        return execute(() -> appDb.runInTransaction(() -> {
+            Category category = appDb.categoryDao().getCategory(id);
+            if(category != null)
+                appDb.categoryDao().deleteCategory(category);
+        }), onComplete);
+    }
+
+    public Future<?> clearCategories(@Nullable Runnable onComplete){
+        return execute(() -> appDb.categoryDao().clearDb(), onComplete);
+    }
+
+    public Future<String[]> getStorageLocationsArray(@Nullable RepositoryCallback<String[]> callback){
+        return submit(() -> appDb.storageLocationDao().getAllStorageLocationsArray(), callback);
+    }
+
+    public Future<List<StorageLocation>> getStorageLocationList(@Nullable RepositoryCallback<List<StorageLocation>> callback){
+        return submit(() -> appDb.storageLocationDao().getAllStorageLocations(), callback);
+    }
+
+    public Future<StorageLocation> getStorageLocation(int id, @Nullable RepositoryCallback<StorageLocation> callback){
+        return submit(() -> appDb.storageLocationDao().getStorageLocation(id), callback);
+    }
+
+    public Future<?> addStorageLocation(@NonNull StorageLocation storageLocation, @Nullable Runnable onComplete){
+        return execute(() -> appDb.storageLocationDao().addStorageLocation(storageLocation), onComplete);
+    }
+
+    public Future<?> updateStorageLocation(@NonNull StorageLocation storageLocation, @Nullable Runnable onComplete){
+        return execute(() -> appDb.storageLocationDao().updateStorageLocation(storageLocation), onComplete);
+    }
+
+    public Future<?> deleteStorageLocation(int id, @Nullable Runnable onComplete){
+        return execute(() -> appDb.runInTransaction(() -> {
+            StorageLocation storageLocation = appDb.storageLocationDao().getStorageLocation(id);
+            if(storageLocation != null)
+                appDb.storageLocationDao().deleteStorageLocation(storageLocation);
+        }), onComplete);
+    }
+
+    public Future<?> clearStorageLocations(@Nullable Runnable onComplete){
+        return execute(() -> appDb.storageLocationDao().clearDb(), onComplete);
+    }
+}
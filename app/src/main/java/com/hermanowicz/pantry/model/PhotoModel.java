@@ -44,7 +44,7 @@ public class PhotoModel {
 
     public final int MAX_CHAR_PHOTO_DESCRIPTION = 50;
 
-    private DatabaseOperations databaseOperations;
+    private PantryRepository repository;
     private AppCompatActivity activity;
     private List<Product> productList;
 
@@ -52,16 +52,16 @@ public class PhotoModel {
     private String filePath;
     private String fileName;
 
-    public PhotoModel(@NonNull DatabaseOperations databaseOperations){
-        this.databaseOperations = databaseOperations;
+    public PhotoModel(@NonNull PantryRepository repository){
+        this.repository = repository;
     }
 
     public void setProductList(@NonNull List<Product> productList) {
         this.productList = productList;
     }
 
-    public void setDB(@NonNull DatabaseOperations databaseOperations) {
-        this.databaseOperations = databaseOperations;
+    public void setRepository(@NonNull PantryRepository repository) {
+        this.repository = repository;
     }
 
     public void setActivity(@NonNull AppCompatActivity activity){
@@ -75,7 +75,7 @@ public class PhotoModel {
             product.setPhotoName(fileName);
             product.setPhotoDescription(photoDescription);
         }
-        databaseOperations.updateProducts(productList);
+        repository.updatePhoto(productList, fileName, photoDescription, null);
     }
 
     public void deletePhoto() {
@@ -83,7 +83,7 @@ public class PhotoModel {
             product.setPhotoName("");
             product.setPhotoDescription("");
         }
-        databaseOperations.updateProducts(productList);
+        repository.updatePhoto(productList, "", "", null);
         photoFile.delete();
     }
 
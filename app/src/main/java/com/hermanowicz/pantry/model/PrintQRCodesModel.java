@@ -43,11 +43,17 @@ public class PrintQRCodesModel {
         this.activity = activity;
     }
 
-    public void setProductList(@NonNull List<Product> productList) {
-        int idOfLastProductInDb = new DatabaseOperations(activity).getIdOfLastProductInDb();
-        textToQRCodeArray = PrintQRData.getTextToQRCodeList(productList, idOfLastProductInDb);
-        namesOfProductsArray = PrintQRData.getNamesOfProductsList(productList);
-        expirationDatesArray = PrintQRData.getExpirationDatesList(productList);
+    public void setProductList(@NonNull List<Product> productList, @NonNull Runnable onReady) {
+        new PantryRepository(activity).getIdOfLastProduct(idOfLastProductInDb -> {
+            textToQRCodeArray = PrintQRData.getTextToQRCodeList(productList, idOfLastProductInDb);
+            namesOfProductsArray = PrintQRData.getNamesOfProductsList(productList);
+            expirationDatesArray = PrintQRData.getExpirationDatesList(productList);
+            onReady.run();
+        });
+    }
+
+    public boolean isProductListSet() {
+        return textToQRCodeArray != null;
     }
 
     public String getPdfFileName(){
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hermanowicz.pantry.model;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.room.InvalidationTracker;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductChange;
+import com.hermanowicz.pantry.db.product.ProductsDao;
+import com.hermanowicz.pantry.interfaces.ProductChangeListener;
+import com.hermanowicz.pantry.util.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <h1>ProductChangeFeed</h1>
+ * Delivers the products changed by every committed transaction to the listeners, so they can
+ * update what they show by the changed products instead of reading all products again.
+ * Changes are read from the change log on the disk I/O executor and delivered on the main
+ * thread in the order they were committed: right after every write of the repository, one
+ * change set for each, and after Room reports a commit of any other write. The change log is
+ * only written while the feed has listeners.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class ProductChangeFeed {
+
+
+    private static ProductChangeFeed INSTANCE;
+    private static final Object sLock = new Object();
+
+    private final AppDb appDb;
+    private final AppExecutors appExecutors;
+    private final List<ProductChangeListener> listenerList = new CopyOnWriteArrayList<>();
+    private final InvalidationTracker.Observer observer;
+
+    public ProductChangeFeed(@NonNull AppDb appDb, @NonNull AppExecutors appExecutors) {
+        this.appDb = appDb;
+        this.appExecutors = appExecutors;
+        observer = new InvalidationTracker.Observer(ProductChange.TABLE_NAME) {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                appExecutors.diskIO().execute(() -> deliverChanges());
+            }
+        };
+    }
+
+    public static ProductChangeFeed getInstance(@NonNull Context context) {
+        synchronized (sLock) {
+            if (INSTANCE == null)
+                INSTANCE = new ProductChangeFeed(AppDb.getInstance(context), AppExecutors.getInstance());
+            return INSTANCE;
+        }
+    }
+
+    /**
+     * The listener receives the changes committed after the writes already submitted to the
+     * disk I/O executor.
+     */
+    public synchronized void addListener(@NonNull ProductChangeListener listener) {
+        if (listenerList.isEmpty()) {
+            appExecutors.diskIO().execute(() -> setChangeLogging(true));
+            appDb.getInvalidationTracker().addObserver(observer);
+        }
+        listenerList.add(listener);
+    }
+
+    public synchronized void removeListener(@NonNull ProductChangeListener listener) {
+        if (listenerList.remove(listener) && listenerList.isEmpty()) {
+            appDb.getInvalidationTracker().removeObserver(observer);
+            appExecutors.diskIO().execute(() -> setChangeLogging(false));
+        }
+    }
+
+    private void setChangeLogging(boolean isLogged) {
+        SupportSQLiteDatabase database = appDb.getOpenHelper().getWritableDatabase();
+        appDb.runInTransaction(() -> {
+            if (isLogged)
+                AppDb.createChangeTriggers(database);
+            else
+                AppDb.dropChangeTriggers(database);
+            appDb.productsDao().clearProductChanges();
+        });
+    }
+
+    /**
+     * Delivers the changes logged since the last delivery. Called on the disk I/O executor.
+     */
+    void deliverChanges() {
+        if (listenerList.isEmpty())
+            return;
+        ProductChanges productChanges = appDb.runInTransaction(this::readChanges);
+        if (!productChanges.isEmpty())
+            appExecutors.mainThread().execute(() -> {
+                for (ProductChangeListener listener : listenerList)
+                    listener.onProductsChanged(productChanges);
+            });
+    }
+
+    /**
+     * Reads and removes the logged changes. Whether a product was inserted, updated or deleted
+     * follows from its first logged change and whether it still exists.
+     */
+    ProductChanges readChanges() {
+        List<ProductChange> productChangeList = appDb.productsDao().getProductChanges();
+        Map<Integer, Integer> firstChangeTypes = new LinkedHashMap<>();
+        for (ProductChange productChange : productChangeList) {
+            if (!firstChangeTypes.containsKey(productChange.getProductId()))
+                firstChangeTypes.put(productChange.getProductId(), productChange.getType());
+        }
+        if (!productChangeList.isEmpty())
+            appDb.productsDao().deleteProductChanges(productChangeList.get(productChangeList.size() - 1).getSequence());
+
+        Map<Integer, Product> productMap = new HashMap<>();
+        List<Integer> productIds = new ArrayList<>(firstChangeTypes.keySet());
+        for (int fromIndex = 0; productIds.size() > fromIndex; fromIndex += ProductsDao.MAX_QUERY_IDS) {
+            List<Integer> chunk = productIds.subList(fromIndex, Math.min(productIds.size(), fromIndex + ProductsDao.MAX_QUERY_IDS));
+            for (Product product : appDb.productsDao().getProductsByIds(chunk))
+                productMap.put(product.getId(), product);
+        }
+
+        List<Product> insertedProductList = new ArrayList<>();
+        List<Product> updatedProductList = new ArrayList<>();
+        List<Integer> deletedProductIds = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> firstChangeType : firstChangeTypes.entrySet()) {
+            Product product = productMap.get(firstChangeType.getKey());
+            boolean isInserted = firstChangeType.getValue() == ProductChange.INSERT;
+            if (product == null) {
+                if (!isInserted)
+                    deletedProductIds.add(firstChangeType.getKey());
+            } else if (isInserted)
+                insertedProductList.add(product);
+            else
+                updatedProductList.add(product);
+        }
+        return new ProductChanges(insertedProductList, updatedProductList, deletedProductIds);
+    }
+}
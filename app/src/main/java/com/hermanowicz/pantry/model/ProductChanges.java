@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hermanowicz.pantry.model;
+
+import androidx.annotation.NonNull;
+
+import com.hermanowicz.pantry.db.product.Product;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>ProductChanges</h1>
+ * Products inserted, updated and deleted by the transactions committed since the previous
+ * changes were delivered. A product inserted and updated since then is only inserted,
+ * a product inserted and deleted is left out.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public final class ProductChanges {
+
+    private final List<Product> insertedProductList;
+    private final List<Product> updatedProductList;
+    private final List<Integer> deletedProductIds;
+
+    ProductChanges(@NonNull List<Product> insertedProductList, @NonNull List<Product> updatedProductList,
+                   @NonNull List<Integer> deletedProductIds) {
+        this.insertedProductList = Collections.unmodifiableList(insertedProductList);
+        this.updatedProductList = Collections.unmodifiableList(updatedProductList);
+        this.deletedProductIds = Collections.unmodifiableList(deletedProductIds);
+    }
+
+    public List<Product> getInsertedProductList() {
+        return insertedProductList;
+    }
+
+    public List<Product> getUpdatedProductList() {
+        return updatedProductList;
+    }
+
+    public List<Integer> getDeletedProductIds() {
+        return deletedProductIds;
+    }
+
+    public boolean isEmpty() {
+        return insertedProductList.isEmpty() && updatedProductList.isEmpty() && deletedProductIds.isEmpty();
+    }
+}
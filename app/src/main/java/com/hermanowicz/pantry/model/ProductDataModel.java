@@ -26,36 +26,50 @@ import androidx.annotation.Nullable;
 
 import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.db.storagelocation.StorageLocation;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class ProductDataModel {
 
-    private final DatabaseOperations databaseOperations;
+    private final PantryRepository repository;
     private final Resources resources;
     private String taste;
     private String productionDate = "-";
     private String expirationDate = "-";
     private List<Product> productList = new ArrayList<>();
-    private int oldProductsQuantity;
+    private String labelHashCode;
+    private String[] ownCategoriesArray = new String[0];
+    private String[] storageLocationsArray = new String[0];
 
     public ProductDataModel(Context context, Resources resources){
-        databaseOperations = new DatabaseOperations(context);
+        repository = new PantryRepository(context);
         this.resources = resources;
     }
 
-    public void deleteSimilarProducts(int productId){
-        databaseOperations.deleteSimilarProducts(productId);
-    }
-
-    public void setProductId(int productId){
-        Product product = databaseOperations.getProductFromDb(productId);
-        expirationDate = product.getExpirationDate();
-        productionDate = product.getProductionDate();
-        productList = databaseOperations.getSimilarProductsList(product);
-        oldProductsQuantity = productList.size();
+    public void deleteSimilarProducts(int productId, @Nullable Runnable onComplete){
+        repository.deleteProductGroup(productId, deletedProductList -> {
+            if(onComplete != null)
+                onComplete.run();
+        });
+    }
+
+    /**
+     * Loads the products similar to the given one together with the own categories and storage
+     * locations needed to show them. The callback runs on the main thread once all are loaded.
+     */
+    public void loadProduct(int productId, @NonNull Runnable onLoaded){
+        repository.getOwnCategoriesArray(ownCategoriesArray -> this.ownCategoriesArray = ownCategoriesArray);
+        repository.getStorageLocationsArray(storageLocationsArray -> this.storageLocationsArray = storageLocationsArray);
+        repository.getLabelHashCode(productId, labelHashCode -> this.labelHashCode = labelHashCode);
+        repository.getProductGroup(productId, productList -> {
+            this.productList = productList;
+            if(productList != null) {
+                expirationDate = productList.get(0).getExpirationDate();
+                productionDate = productList.get(0).getProductionDate();
+            }
+            onLoaded.run();
+        });
     }
 
     public String formatDate(int year, int month, int day) {
@@ -67,11 +81,11 @@ public class ProductDataModel {
     }
 
     public boolean isProductListEmpty() {
-        return productList == null;
+        return productList == null || productList.isEmpty();
     }
 
     public boolean isCorrectHashCode(@NonNull String hashCode) {
-        boolean isCorrectHashcode = false;
+        boolean isCorrectHashcode = hashCode.equals(labelHashCode);
         for (Product product : productList) {
             if (product.getHashCode().equals(hashCode)) {
                 isCorrectHashcode = true;
@@ -82,7 +96,10 @@ public class ProductDataModel {
     }
 
     public GroupProducts getGroupProducts() {
-        return new GroupProducts(productList.get(0), productList.size());
+        int quantity = 0;
+        for (Product product : productList)
+            quantity += product.getQuantity();
+        return new GroupProducts(productList.get(0), quantity);
     }
 
     public int getProductTypeSpinnerPosition(){
@@ -131,10 +148,9 @@ public class ProductDataModel {
     }
 
     public int getProductStorageLocationPosition() {
-        List<StorageLocation> storageLocationList = databaseOperations.getStorageLocationList();
         int selection = 0;
-        for(int counter = 0; storageLocationList.size() > counter; counter++){
-            if(productList.get(0).getStorageLocation().equals(storageLocationList.get(counter).getName()))
+        for(int counter = 0; storageLocationsArray.length > counter; counter++){
+            if(productList.get(0).getStorageLocation().equals(storageLocationsArray[counter]))
                 selection = counter;
         }
         return selection;
@@ -193,75 +209,46 @@ public class ProductDataModel {
     }
 
 
-    private void updateProductsQuantityInDb(int newProductsQuantity, @NonNull GroupProducts groupProducts){
-        for(Product product : productList){
-            product.setName(groupProducts.getProduct().getName());
-            product.setTypeOfProduct(groupProducts.getProduct().getTypeOfProduct());
-            product.setProductFeatures(groupProducts.getProduct().getProductFeatures());
-            product.setStorageLocation(groupProducts.getProduct().getStorageLocation());
-            product.setHealingProperties(groupProducts.getProduct().getHealingProperties());
-            product.setComposition(groupProducts.getProduct().getComposition());
-            product.setDosage(groupProducts.getProduct().getDosage());
-            product.setWeight(groupProducts.getProduct().getWeight());
-            product.setVolume(groupProducts.getProduct().getVolume());
-            product.setHasSugar(groupProducts.getProduct().getHasSugar());
-            product.setHasSalt(groupProducts.getProduct().getHasSugar());
-            product.setIsBio(groupProducts.getProduct().getIsBio());
-            product.setIsVege(groupProducts.getProduct().getIsVege());
-            product.setProductionDate(productionDate);
-            product.setExpirationDate(expirationDate);
-            product.setTaste(taste);
-        }
-        databaseOperations.updateProducts(productList);
-        List<Product> newProductList = new ArrayList<>();
-        if(newProductsQuantity > oldProductsQuantity){
-            for(int newProductsCount = newProductsQuantity - oldProductsQuantity; newProductsCount > 0 ; newProductsCount--){
-                Product newProduct = new Product();
-                newProduct.setName(groupProducts.getProduct().getName());
-                newProduct.setTypeOfProduct(groupProducts.getProduct().getTypeOfProduct());
-                newProduct.setProductFeatures(groupProducts.getProduct().getProductFeatures());
-                newProduct.setStorageLocation(groupProducts.getProduct().getStorageLocation());
-                newProduct.setExpirationDate(expirationDate);
-                newProduct.setProductionDate(productionDate);
-                newProduct.setVolume(groupProducts.getProduct().getVolume());
-                newProduct.setWeight(groupProducts.getProduct().getWeight());
-                newProduct.setComposition(groupProducts.getProduct().getComposition());
-                newProduct.setHealingProperties(groupProducts.getProduct().getHealingProperties());
-                newProduct.setDosage(groupProducts.getProduct().getDosage());
-                newProduct.setHasSugar(groupProducts.getProduct().getHasSugar());
-                newProduct.setHasSalt(groupProducts.getProduct().getHasSalt());
-                newProduct.setIsVege(groupProducts.getProduct().getIsVege());
-                newProduct.setIsBio(groupProducts.getProduct().getIsBio());
-                newProduct.setTaste(taste);
-                newProduct.setHashCode(String.valueOf(newProduct.hashCode()));
-                if(groupProducts.getProduct().getProductFeatures().equals(resources.getString(R.string.Product_choose)))
-                    newProduct.setProductFeatures("");
-                else
-                    newProduct.setProductFeatures(groupProducts.getProduct().getProductFeatures());
-                newProductList.add(newProduct);
-            }
-            databaseOperations.addProducts(newProductList);
+    private void updateProductsQuantityInDb(int newProductsQuantity, @NonNull GroupProducts groupProducts,
+                                            @Nullable Runnable onComplete){
+        if(newProductsQuantity < 1) {
+            repository.deleteProducts(productList, onComplete);
+            return;
         }
-        if(oldProductsQuantity > newProductsQuantity){
-            List<Product> productListToRemove = new ArrayList<>();
-            int quantityToRemove = oldProductsQuantity - newProductsQuantity;
-            for(; quantityToRemove > 0; quantityToRemove--){
-                productListToRemove.add(productList.get(quantityToRemove-1));
-            }
-            databaseOperations.deleteProducts(productListToRemove);
-        }
-    }
-
-    public void updateDatabase(@NonNull GroupProducts groupProducts){
+        Product batch = productList.get(0);
+        batch.setName(groupProducts.getProduct().getName());
+        batch.setTypeOfProduct(groupProducts.getProduct().getTypeOfProduct());
+        if(groupProducts.getProduct().getProductFeatures().equals(resources.getString(R.string.Product_choose)))
+            batch.setProductFeatures("");
+        else
+            batch.setProductFeatures(groupProducts.getProduct().getProductFeatures());
+        batch.setStorageLocation(groupProducts.getProduct().getStorageLocation());
+        batch.setHealingProperties(groupProducts.getProduct().getHealingProperties());
+        batch.setComposition(groupProducts.getProduct().getComposition());
+        batch.setDosage(groupProducts.getProduct().getDosage());
+        batch.setWeight(groupProducts.getProduct().getWeight());
+        batch.setVolume(groupProducts.getProduct().getVolume());
+        batch.setHasSugar(groupProducts.getProduct().getHasSugar());
+        batch.setHasSalt(groupProducts.getProduct().getHasSalt());
+        batch.setIsBio(groupProducts.getProduct().getIsBio());
+        batch.setIsVege(groupProducts.getProduct().getIsVege());
+        batch.setProductionDate(productionDate);
+        batch.setExpirationDate(expirationDate);
+        batch.setTaste(taste);
+        batch.setQuantity(newProductsQuantity);
+        repository.updateProductBatch(batch, new ArrayList<>(productList.subList(1, productList.size())), onComplete);
+    }
+
+    public void updateDatabase(@NonNull GroupProducts groupProducts, @Nullable Runnable onComplete){
         int newProductsQuantity = groupProducts.getQuantity();
-        updateProductsQuantityInDb(newProductsQuantity, groupProducts);
+        updateProductsQuantityInDb(newProductsQuantity, groupProducts, onComplete);
     }
 
     public String[] getOwnCategoriesArray(){
-        return databaseOperations.getOwnCategoriesArray();
+        return ownCategoriesArray;
     }
 
     public String[] getStorageLocationsArray() {
-        return databaseOperations.getStorageLocationsArray();
+        return storageLocationsArray;
     }
 }
\ No newline at end of file
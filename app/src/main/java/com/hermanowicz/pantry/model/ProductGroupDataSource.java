@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.DataSource;
+import androidx.paging.ItemKeyedDataSource;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.DateConverter;
+import com.hermanowicz.pantry.filter.FilterModel;
+import com.hermanowicz.pantry.filter.FilterQueryBuilder;
+import com.hermanowicz.pantry.filter.FilterSnapshot;
+import com.hermanowicz.pantry.interfaces.ProductChangeListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h1>ProductGroupDataSource</h1>
+ * Loads the groups of products shown in the pantry page by page. Pages are keyed by the
+ * expiration day and id of the first product of a group, so loading a page reads only the
+ * groups it contains, however far the list is scrolled. The source is invalidated by the
+ * changed products which touch the groups it has loaded, see {@link ProductGroupWindow};
+ * the next one is loaded around the group the list was showing.
+ * The first page of a recently used filter is taken from the page cache. A source of
+ * a cancelled search loads no more groups and stops listening to the changes.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class ProductGroupDataSource extends ItemKeyedDataSource<ProductGroupDataSource.Key, ProductGroupListItem> {
+
+    private final AppDb appDb;
+    private final FilterQueryBuilder filterQueryBuilder;
+    private final Factory factory;
+    private final ProductGroupWindow window = new ProductGroupWindow();
+    private final ProductChangeListener productChangeListener;
+
+    ProductGroupDataSource(@NonNull AppDb appDb, @NonNull FilterQueryBuilder filterQueryBuilder, @NonNull Factory factory) {
+        this.appDb = appDb;
+        this.filterQueryBuilder = filterQueryBuilder;
+        this.factory = factory;
+        productChangeListener = productChanges -> {
+            if (window.isTouchedBy(productChanges))
+                invalidate();
+        };
+    }
+
+    private void startListening() {
+        factory.productChangeFeed.addListener(productChangeListener);
+        addInvalidatedCallback(this::stopListening);
+    }
+
+    private void stopListening() {
+        factory.productChangeFeed.removeListener(productChangeListener);
+    }
+
+    @Override
+    public void loadInitial(@NonNull LoadInitialParams<Key> params, @NonNull LoadInitialCallback<ProductGroupListItem> callback) {
+        if (factory.isCancelled()) {
+            callback.onResult(Collections.emptyList());
+            return;
+        }
+        window.startLoading();
+        Key key = params.requestedInitialKey;
+        List<ProductGroupListItem> groupProductsList = new ArrayList<>();
+        boolean isStart = true, isEnd = true;
+        if (key != null) {
+            int beforeSize = params.requestedLoadSize / 2;
+            groupProductsList.addAll(loadBefore(key, beforeSize));
+            isStart = groupProductsList.size() < beforeSize;
+            int afterSize = params.requestedLoadSize - groupProductsList.size();
+            List<ProductGroupListItem> afterList = appDb.productsDao().getProductGroupsList(
+                    filterQueryBuilder.buildGroupedPageAfter(key.expirationEpochDay, key.id, true, afterSize));
+            isEnd = afterList.size() < afterSize;
+            groupProductsList.addAll(afterList);
+        }
+        if (groupProductsList.isEmpty()) {
+            groupProductsList = loadFirstPage(params.requestedLoadSize);
+            isStart = true;
+            isEnd = groupProductsList.size() < params.requestedLoadSize;
+        }
+        window.addPage(groupProductsList, isStart, isEnd);
+        callback.onResult(groupProductsList);
+    }
+
+    private List<ProductGroupListItem> loadFirstPage(int size) {
+        List<ProductGroupListItem> groupProductsList = factory.pageCache.getFirstPage(factory.filterSnapshot);
+        if (groupProductsList != null)
+            return new ArrayList<>(groupProductsList);
+        long version = factory.pageCache.getVersion();
+        groupProductsList = appDb.productsDao().getProductGroupsList(
+                filterQueryBuilder.buildGroupedPageAfter(null, null, false, size));
+        factory.pageCache.putFirstPage(factory.filterSnapshot, version, new ArrayList<>(groupProductsList),
+                groupProductsList.size() < size);
+        return groupProductsList;
+    }
+
+    @Override
+    public void loadAfter(@NonNull LoadParams<Key> params, @NonNull LoadCallback<ProductGroupListItem> callback) {
+        if (factory.isCancelled()) {
+            callback.onResult(Collections.emptyList());
+            return;
+        }
+        window.startLoading();
+        List<ProductGroupListItem> groupProductsList = appDb.productsDao().getProductGroupsList(
+                filterQueryBuilder.buildGroupedPageAfter(params.key.expirationEpochDay, params.key.id, false,
+                        params.requestedLoadSize));
+        window.addPage(groupProductsList, false, groupProductsList.size() < params.requestedLoadSize);
+        callback.onResult(groupProductsList);
+    }
+
+    @Override
+    public void loadBefore(@NonNull LoadParams<Key> params, @NonNull LoadCallback<ProductGroupListItem> callback) {
+        if (factory.isCancelled()) {
+            callback.onResult(Collections.emptyList());
+            return;
+        }
+        window.startLoading();
+        List<ProductGroupListItem> groupProductsList = loadBefore(params.key, params.requestedLoadSize);
+        window.addPage(groupProductsList, groupProductsList.size() < params.requestedLoadSize, false);
+        callback.onResult(groupProductsList);
+    }
+
+    private List<ProductGroupListItem> loadBefore(@NonNull Key key, int size) {
+        List<ProductGroupListItem> groupProductsList = appDb.productsDao().getProductGroupsList(
+                filterQueryBuilder.buildGroupedPageBefore(key.expirationEpochDay, key.id, size));
+        Collections.reverse(groupProductsList);
+        return groupProductsList;
+    }
+
+    @NonNull
+    @Override
+    public Key getKey(@NonNull ProductGroupListItem groupProducts) {
+        return Key.of(groupProducts);
+    }
+
+    /**
+     * Position of a group in the product list: the expiration day and id of its first product.
+     * Products without an expiration day are first.
+     */
+    public static final class Key implements Comparable<Key> {
+
+        private final Long expirationEpochDay;
+        private final int id;
+
+        Key(@Nullable Long expirationEpochDay, int id) {
+            this.expirationEpochDay = expirationEpochDay;
+            this.id = id;
+        }
+
+        static Key of(@NonNull ProductGroupListItem groupProducts) {
+            return new Key(DateConverter.toEpochDay(groupProducts.getProduct().getExpirationDate()),
+                    groupProducts.getFirstId());
+        }
+
+        @Override
+        public int compareTo(@NonNull Key key) {
+            if (expirationEpochDay == null ? key.expirationEpochDay != null
+                    : !expirationEpochDay.equals(key.expirationEpochDay)) {
+                if (expirationEpochDay == null)
+                    return -1;
+                if (key.expirationEpochDay == null)
+                    return 1;
+                return Long.compare(expirationEpochDay, key.expirationEpochDay);
+            }
+            return Integer.compare(id, key.id);
+        }
+    }
+
+    /**
+     * Creates the sources on the fetch executor, so names similar to a fuzzy filter name are
+     * found there again for every new source, after the products have changed.
+     */
+    public static class Factory extends DataSource.Factory<Key, ProductGroupListItem> {
+
+        private final AppDb appDb;
+        private final ProductChangeFeed productChangeFeed;
+        private final FilterQueryBuilder filterQueryBuilder;
+        private final SimilarProductNames similarProductNames;
+        private final ProductGroupPageCache pageCache;
+        private final FilterSnapshot filterSnapshot;
+        private final String fuzzyName;
+        private volatile boolean isCancelled = false;
+        private ProductGroupDataSource dataSource;
+
+        public Factory(@NonNull AppDb appDb, @NonNull ProductChangeFeed productChangeFeed,
+                       @NonNull FilterModel filterProduct, @NonNull SimilarProductNames similarProductNames,
+                       @NonNull ProductGroupPageCache pageCache) {
+            this.appDb = appDb;
+            this.productChangeFeed = productChangeFeed;
+            this.filterQueryBuilder = FilterQueryBuilder.compile(filterProduct);
+            this.similarProductNames = similarProductNames;
+            this.pageCache = pageCache;
+            this.filterSnapshot = filterProduct.toSnapshot();
+            this.fuzzyName = filterProduct.getIsNameFuzzy() ? filterProduct.getName() : null;
+        }
+
+        /**
+         * Stops the loading of a search replaced by a newer one. Its sources return empty pages
+         * without reading the database, and the list nobody observes any more is not shown.
+         * The current source stops listening to the changes, as they would only load it again.
+         */
+        public void cancel() {
+            ProductGroupDataSource cancelledDataSource;
+            synchronized (this) {
+                isCancelled = true;
+                cancelledDataSource = dataSource;
+                dataSource = null;
+            }
+            if (cancelledDataSource != null)
+                cancelledDataSource.stopListening();
+        }
+
+        public boolean isCancelled() {
+            return isCancelled;
+        }
+
+        @NonNull
+        @Override
+        public DataSource<Key, ProductGroupListItem> create() {
+            ProductGroupDataSource createdDataSource;
+            if (fuzzyName == null || isCancelled)
+                createdDataSource = new ProductGroupDataSource(appDb, filterQueryBuilder, this);
+            else
+                createdDataSource = new ProductGroupDataSource(appDb,
+                        filterQueryBuilder.withSimilarNames(similarProductNames.find(fuzzyName)), this);
+            synchronized (this) {
+                if (!isCancelled) {
+                    createdDataSource.startListening();
+                    dataSource = createdDataSource;
+                }
+            }
+            return createdDataSource;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hermanowicz.pantry.model;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+import com.hermanowicz.pantry.db.product.ProductListItem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>ProductGroupListItem</h1>
+ * Group of similar products shown as one item of the product list: the first product of the
+ * group, the quantity of all products in it and their ids. The ids are read with the group,
+ * so the products of selected groups are found by id.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public final class ProductGroupListItem {
+
+    @Embedded
+    private ProductListItem product;
+    @ColumnInfo(name = "groupQuantity")
+    private int quantity;
+    private int firstId;
+    private int lastId;
+    private String memberIds;
+
+    public ProductListItem getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductListItem product) {
+        this.product = product;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public int getFirstId() {
+        return firstId;
+    }
+
+    public void setFirstId(int firstId) {
+        this.firstId = firstId;
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(int lastId) {
+        this.lastId = lastId;
+    }
+
+    /**
+     * Comma separated ids of the products of the group.
+     */
+    public String getMemberIds() {
+        return memberIds;
+    }
+
+    public void setMemberIds(String memberIds) {
+        this.memberIds = memberIds;
+    }
+
+    public List<Integer> getMemberIdList() {
+        List<Integer> memberIdList = new ArrayList<>();
+        if (memberIds != null && !memberIds.isEmpty()) {
+            for (String memberId : memberIds.split(","))
+                memberIdList.add(Integer.parseInt(memberId));
+        }
+        return memberIdList;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.model;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hermanowicz.pantry.filter.FilterCache;
+import com.hermanowicz.pantry.filter.FilterSnapshot;
+
+import java.util.List;
+
+/**
+ * <h1>ProductGroupPageCache</h1>
+ * First pages of the groups of products of the recently used filters, so going back to one
+ * of them shows its list without reading the database. A page is dropped when changed products
+ * touch its groups, see {@link ProductGroupWindow}; the pages of other filters are kept.
+ * A page read before a change is not stored after it.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class ProductGroupPageCache {
+
+    private static final int MAX_CACHED_FILTERS = 4;
+
+    private static ProductGroupPageCache INSTANCE;
+    private static final Object sLock = new Object();
+
+    private final FilterCache<FirstPage> firstPageCache = new FilterCache<>(MAX_CACHED_FILTERS);
+    private long version = 0;
+
+    public ProductGroupPageCache(@NonNull ProductChangeFeed productChangeFeed) {
+        productChangeFeed.addListener(this::dropTouchedPages);
+    }
+
+    public static ProductGroupPageCache getInstance(@NonNull Context context) {
+        synchronized (sLock) {
+            if (INSTANCE == null)
+                INSTANCE = new ProductGroupPageCache(ProductChangeFeed.getInstance(context));
+            return INSTANCE;
+        }
+    }
+
+    /**
+     * Version of the products the next read page belongs to. Pass it to
+     * {@link #putFirstPage(FilterSnapshot, long, List, boolean)} with the page.
+     */
+    synchronized long getVersion() {
+        return version;
+    }
+
+    @Nullable
+    synchronized List<ProductGroupListItem> getFirstPage(@NonNull FilterSnapshot filterSnapshot) {
+        FirstPage firstPage = firstPageCache.get(filterSnapshot);
+        return firstPage == null ? null : firstPage.groupProductsList;
+    }
+
+    /**
+     * @param isEnd whether the page is the whole list
+     */
+    synchronized void putFirstPage(@NonNull FilterSnapshot filterSnapshot, long version,
+                                   @NonNull List<ProductGroupListItem> groupProductsList, boolean isEnd) {
+        if (this.version == version)
+            firstPageCache.put(filterSnapshot, new FirstPage(groupProductsList, isEnd));
+    }
+
+    private synchronized void dropTouchedPages(@NonNull ProductChanges productChanges) {
+        version++;
+        firstPageCache.removeIf(firstPage -> firstPage.window.isTouchedBy(productChanges));
+    }
+
+    private static final class FirstPage {
+
+        private final List<ProductGroupListItem> groupProductsList;
+        private final ProductGroupWindow window;
+
+        private FirstPage(@NonNull List<ProductGroupListItem> groupProductsList, boolean isEnd) {
+            this.groupProductsList = groupProductsList;
+            this.window = new ProductGroupWindow(groupProductsList, isEnd);
+        }
+    }
+}
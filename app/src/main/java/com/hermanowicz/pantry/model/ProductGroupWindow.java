@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.model;
+
+import androidx.annotation.NonNull;
+
+import com.hermanowicz.pantry.db.DateConverter;
+import com.hermanowicz.pantry.db.product.Product;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <h1>ProductGroupWindow</h1>
+ * Part of the product list loaded from the database: the range of positions between its first
+ * and last group, the keys of its groups and the ids of their products. Tells whether changed
+ * products may change the groups in it, so a list is read again only when the part of it
+ * already loaded changes.
+ * <p>
+ * A changed product touches the window when it belongs to one of its groups, or its position
+ * is inside the range. A product updated or deleted before the start of the range may have
+ * been the first product of a group which now starts inside it; its former position is not
+ * known, so such changes touch a window which does not start at the beginning of the list.
+ * Changes delivered while a page is loaded touch the window, as the page may not contain them.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+final class ProductGroupWindow {
+
+    private final Set<String> groupKeys = new HashSet<>();
+    private final Set<Integer> memberIds = new HashSet<>();
+    private ProductGroupDataSource.Key firstKey;
+    private ProductGroupDataSource.Key lastKey;
+    private boolean isStartLoaded = false;
+    private boolean isEndLoaded = false;
+    private int loadingPageCount = 0;
+
+    ProductGroupWindow() {
+    }
+
+    /**
+     * Window of the first page of the list.
+     *
+     * @param isEnd whether nothing is after the page
+     */
+    ProductGroupWindow(@NonNull List<ProductGroupListItem> groupProductsList, boolean isEnd) {
+        loadingPageCount = 1;
+        addPage(groupProductsList, true, isEnd);
+    }
+
+    synchronized void startLoading() {
+        loadingPageCount++;
+    }
+
+    /**
+     * Adds a loaded page of groups in the order of the list, and ends its loading.
+     *
+     * @param isStart whether nothing is before the page
+     * @param isEnd whether nothing is after the page
+     */
+    synchronized void addPage(@NonNull List<ProductGroupListItem> groupProductsList, boolean isStart, boolean isEnd) {
+        loadingPageCount--;
+        isStartLoaded |= isStart;
+        isEndLoaded |= isEnd;
+        for (ProductGroupListItem groupProducts : groupProductsList) {
+            ProductGroupDataSource.Key key = ProductGroupDataSource.Key.of(groupProducts);
+            if (firstKey == null || firstKey.compareTo(key) > 0)
+                firstKey = key;
+            if (lastKey == null || lastKey.compareTo(key) < 0)
+                lastKey = key;
+            groupKeys.add(groupProducts.getProduct().getGroupKey());
+            memberIds.addAll(groupProducts.getMemberIdList());
+        }
+    }
+
+    synchronized boolean isTouchedBy(@NonNull ProductChanges productChanges) {
+        if (loadingPageCount > 0)
+            return true;
+        for (Integer productId : productChanges.getDeletedProductIds()) {
+            if (memberIds.contains(productId) || !isStartLoaded)
+                return true;
+        }
+        for (Product product : productChanges.getUpdatedProductList()) {
+            if (memberIds.contains(product.getId()) || !isStartLoaded || isInside(product))
+                return true;
+        }
+        for (Product product : productChanges.getInsertedProductList()) {
+            if (isInside(product))
+                return true;
+        }
+        return false;
+    }
+
+    private boolean isInside(@NonNull Product product) {
+        if (groupKeys.contains(product.getGroupKey()))
+            return true;
+        ProductGroupDataSource.Key key = new ProductGroupDataSource.Key(
+                DateConverter.toEpochDay(product.getExpirationDate()), product.getId());
+        return isAfterStart(key) && isBeforeEnd(key);
+    }
+
+    private boolean isAfterStart(@NonNull ProductGroupDataSource.Key key) {
+        return isStartLoaded || (firstKey != null && firstKey.compareTo(key) < 0);
+    }
+
+    private boolean isBeforeEnd(@NonNull ProductGroupDataSource.Key key) {
+        return isEndLoaded || (lastKey != null && lastKey.compareTo(key) > 0);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.model;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductNameCount;
+import com.hermanowicz.pantry.filter.ProductNameBkTree;
+import com.hermanowicz.pantry.util.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>SimilarProductNames</h1>
+ * Finds the names of products the user may have meant by a misspelled name. The names are kept
+ * in a {@link ProductNameBkTree}, built on the first search. Names of inserted products are
+ * added to it as they are delivered by the change feed; after products are updated or deleted
+ * the tree is built again on the disk I/O executor, and searches use the previous one until
+ * the new one is ready.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class SimilarProductNames {
+
+    /**
+     * Most names returned by a search, so the names fit in the arguments of a query.
+     */
+    public static final int MAX_SIMILAR_NAMES = 50;
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_ONE_EDIT_LENGTH = 5;
+
+    private static SimilarProductNames INSTANCE;
+    private static final Object sLock = new Object();
+
+    private final AppDb appDb;
+    private final AppExecutors appExecutors;
+    private ProductNameBkTree nameTree;
+    private boolean isRebuildScheduled = false;
+    private long changeCount = 0;
+
+    public SimilarProductNames(@NonNull AppDb appDb, @NonNull AppExecutors appExecutors,
+                               @NonNull ProductChangeFeed productChangeFeed) {
+        this.appDb = appDb;
+        this.appExecutors = appExecutors;
+        productChangeFeed.addListener(this::updateNameTree);
+    }
+
+    public static SimilarProductNames getInstance(@NonNull Context context) {
+        synchronized (sLock) {
+            if (INSTANCE == null)
+                INSTANCE = new SimilarProductNames(AppDb.getInstance(context), AppExecutors.getInstance(),
+                        ProductChangeFeed.getInstance(context));
+            return INSTANCE;
+        }
+    }
+
+    /**
+     * Lower case names within one edit of a short name, or two edits of a longer one, from the
+     * closest ones and the names of the most units.
+     */
+    @WorkerThread
+    public List<String> find(@NonNull String name) {
+        List<String> similarNames = new ArrayList<>();
+        String searchText = Product.toSearchName(name).trim();
+        if (searchText.length() < MIN_SEARCH_LENGTH)
+            return similarNames;
+        if (getNameTree() == null)
+            setNameTree(getChangeCount(), buildNameTree());
+        int maxDistance = searchText.length() > MAX_ONE_EDIT_LENGTH ? 2 : 1;
+        List<ProductNameBkTree.SimilarName> similarNameList;
+        synchronized (this) {
+            similarNameList = nameTree.search(searchText, maxDistance);
+        }
+        for (ProductNameBkTree.SimilarName similarName : similarNameList) {
+            if (similarNames.size() == MAX_SIMILAR_NAMES)
+                break;
+            similarNames.add(similarName.getSearchName());
+        }
+        return similarNames;
+    }
+
+    private ProductNameBkTree buildNameTree() {
+        ProductNameBkTree builtNameTree = new ProductNameBkTree();
+        for (ProductNameCount productNameCount : appDb.productsDao().getProductNameCounts())
+            builtNameTree.add(productNameCount.getSearchName(), productNameCount.getUnitCount());
+        return builtNameTree;
+    }
+
+    private synchronized ProductNameBkTree getNameTree() {
+        return nameTree;
+    }
+
+    private synchronized long getChangeCount() {
+        return changeCount;
+    }
+
+    /**
+     * Replaces the tree with one built from the products read after the given count of changes.
+     * When more changes were delivered meanwhile, the tree may miss them and is built again.
+     */
+    private synchronized void setNameTree(long builtChangeCount, @NonNull ProductNameBkTree builtNameTree) {
+        if (nameTree != null && builtChangeCount != changeCount && isRebuildScheduled)
+            return;
+        nameTree = builtNameTree;
+        if (builtChangeCount != changeCount)
+            scheduleRebuild();
+    }
+
+    private synchronized void updateNameTree(@NonNull ProductChanges productChanges) {
+        changeCount++;
+        if (nameTree == null || isRebuildScheduled)
+            return;
+        if (productChanges.getUpdatedProductList().isEmpty() && productChanges.getDeletedProductIds().isEmpty()) {
+            for (Product product : productChanges.getInsertedProductList()) {
+                if (product.getSearchName() != null)
+                    nameTree.add(product.getSearchName(), product.getQuantity());
+            }
+        } else
+            scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        isRebuildScheduled = true;
+        appExecutors.diskIO().execute(() -> {
+            long builtChangeCount;
+            synchronized (this) {
+                isRebuildScheduled = false;
+                builtChangeCount = changeCount;
+            }
+            setNameTree(builtChangeCount, buildNameTree());
+        });
+    }
+}
@@ -17,8 +17,13 @@
 
 package com.hermanowicz.pantry.model;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.hermanowicz.pantry.db.storagelocation.StorageLocation;
+import com.hermanowicz.pantry.interfaces.RepositoryCallback;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class StorageLocationModel {
@@ -26,39 +31,54 @@ public class StorageLocationModel {
     public final int MAX_CHAR_STORAGE_LOCATION_NAME = 30;
     public final int MAX_CHAR_STORAGE_LOCATION_DESCRIPTION = 200;
 
-    private final DatabaseOperations db;
+    private final PantryRepository repository;
+    private List<StorageLocation> storageLocationList = new ArrayList<>();
+    private StorageLocation storageLocation;
+
+    public StorageLocationModel(@NonNull PantryRepository repository){
+        this.repository = repository;
+    }
+
+    public void loadStorageLocation(int id, @NonNull RepositoryCallback<StorageLocation> callback) {
+        repository.getStorageLocation(id, storageLocation -> {
+            this.storageLocation = storageLocation;
+            callback.onResult(storageLocation);
+        });
+    }
 
-    public StorageLocationModel(DatabaseOperations databaseOperations){
-        this.db = databaseOperations;
+    public StorageLocation getStorageLocation() {
+        return storageLocation;
     }
 
-    public StorageLocation getStorageLocation(int id) {
-        return db.getStorageLocation(id);
+    public void updateStorageLocation(@NonNull StorageLocation storageLocation, @Nullable Runnable onComplete) {
+        repository.updateStorageLocation(storageLocation, onComplete);
     }
 
-    public void updateStorageLocation(StorageLocation storageLocation) {
-        db.updateStorageLocation(storageLocation);
+    public void deleteStorageLocation(int id, @Nullable Runnable onComplete) {
+        repository.deleteStorageLocation(id, onComplete);
     }
 
-    public void deleteStorageLocation(int id) {
-        db.deleteStorageLocation(id);
+    public void loadStorageLocationList(@NonNull RepositoryCallback<List<StorageLocation>> callback){
+        repository.getStorageLocationList(storageLocationList -> {
+            this.storageLocationList = storageLocationList;
+            callback.onResult(storageLocationList);
+        });
     }
 
     public List<StorageLocation> getStorageLocationList(){
-        return db.getStorageLocationList();
+        return storageLocationList;
     }
 
-    public boolean addStorageLocation(StorageLocation storageLocation){
-        List<StorageLocation> storageLocationList = db.getStorageLocationList();
+    public boolean addStorageLocation(StorageLocation newStorageLocation){
         boolean correct = true;
-        for(StorageLocation storageLocation1 : storageLocationList){
-            if (storageLocation1.getName().equals(storageLocation.getName())) {
+        for(StorageLocation storageLocation : storageLocationList){
+            if (storageLocation.getName().equals(newStorageLocation.getName())) {
                 correct = false;
                 break;
             }
         }
         if(correct) {
-            db.addStorageLocation(storageLocation);
+            repository.addStorageLocation(newStorageLocation, null);
             return true;
         }
         else
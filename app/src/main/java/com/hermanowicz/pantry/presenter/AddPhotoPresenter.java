@@ -24,7 +24,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.hermanowicz.pantry.db.product.Product;
 import com.hermanowicz.pantry.interfaces.AddPhotoView;
-import com.hermanowicz.pantry.model.DatabaseOperations;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.model.PhotoModel;
 
 import java.io.File;
@@ -49,12 +49,12 @@ public class AddPhotoPresenter{
     }
 
     public void setActivity(@NonNull AppCompatActivity activity){
-        model = new PhotoModel(new DatabaseOperations(activity.getApplicationContext()));
+        model = new PhotoModel(new PantryRepository(activity.getApplicationContext()));
         model.setActivity(activity);
     }
 
-    public void setDb(DatabaseOperations databaseOperations){
-        model.setDB(databaseOperations);
+    public void setRepository(PantryRepository repository){
+        model.setRepository(repository);
     }
 
     public void onClickTakePhoto(){
@@ -87,31 +87,11 @@ public class AppSettingsPresenter {
         view.onProductDatabaseClear();
     }
 
-    public void backupCategoryDatabase(Context context) {
-        DatabaseBackup.backupCategoryDb(context);
-        view.showDbBackupHasBeenMade();
-    }
-
-    public void restoreCategoryDatabase(Context context) {
-        DatabaseBackup.restoreCategoryDb(context);
-        view.showDbHasBeenRestored();
-    }
-
     public void clearCategoryDatabase(Context context) {
         DatabaseBackup.clearCategoryDb(context);
         view.showDbHasBeenClear();
     }
 
-    public void backupStorageLocationDatabase(Context context) {
-        DatabaseBackup.backupStorageLocationDb(context);
-        view.showDbBackupHasBeenMade();
-    }
-
-    public void restoreStorageLocationDatabase(Context context) {
-        DatabaseBackup.restoreStorageLocationDb(context);
-        view.showDbHasBeenRestored();
-    }
-
     public void clearStorageLocationDatabase(Context context) {
         DatabaseBackup.clearStorageLocationDb(context);
         view.showDbHasBeenClear();
@@ -129,26 +109,10 @@ public class AppSettingsPresenter {
         view.showDialogClearProductDb();
     }
 
-    public void onClickBackupCategoryDatabase() {
-        view.showDialogBackupCategoryDb();
-    }
-
-    public void onClickRestoreCategoryDatabase() {
-        view.showDialogRestoreCategoryDb();
-    }
-
     public void onClickClearCategoryDatabase() {
         view.showDialogClearCategoryDb();
     }
 
-    public void onClickBackupStorageLocationDatabase() {
-        view.showDialogBackupStorageLocationDb();
-    }
-
-    public void onClickRestoreStorageLocationDatabase() {
-        view.showDialogRestoreStorageLocationDb();
-    }
-
     public void onClickClearStorageLocationDatabase() {
         view.showDialogClearStorageLocationDb();
     }
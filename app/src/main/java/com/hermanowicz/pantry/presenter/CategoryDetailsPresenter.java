@@ -34,26 +34,25 @@ public class CategoryDetailsPresenter {
     }
 
     public void setCategoryId(int id) {
-        Category category = model.getCategory(id);
-        view.showCategoryDetails(category);
+        model.loadCategory(id, view::showCategoryDetails);
     }
 
-    public Category getCategory(int id){
-        return model.getCategory(id);
+    public Category getCategory(){
+        return model.getCategory();
     }
 
     public void deleteCategory(int id) {
-        model.deleteCategory(id);
-        view.navigateToCategoriesActivity();
+        model.deleteCategory(id, view::navigateToCategoriesActivity);
     }
 
     public void updateCategory(@NonNull Category category) {
         if(model.isCategoryNameNotCorrect(category.getName()) || model.isCategoryDescriptionNotCorrect(category.getDescription()))
             view.showErrorOnUpdateCategory();
         else {
-            model.updateCategory(category);
-            view.showCategoryUpdated();
-            view.navigateToCategoriesActivity();
+            model.updateCategory(category, () -> {
+                view.showCategoryUpdated();
+                view.navigateToCategoriesActivity();
+            });
         }
     }
 
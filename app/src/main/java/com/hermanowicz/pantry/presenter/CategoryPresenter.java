@@ -36,9 +36,10 @@ public class CategoryPresenter {
     }
 
     public void updateCategoryList(){
-        List<Category> categoryList = model.getCategoryList();
-        view.updateCategoryList(categoryList);
-        view.showEmptyCategoryListStatement(categoryList.size() == 0);
+        model.loadCategoryList(categoryList -> {
+            view.updateCategoryList(categoryList);
+            view.showEmptyCategoryListStatement(categoryList.size() == 0);
+        });
     }
 
     public void addCategory(Category category) {
@@ -46,13 +47,16 @@ public class CategoryPresenter {
             view.onErrorAddNewCategory();
         else if(model.addCategory(category)) {
             view.onSuccessAddNewCategory();
-            view.updateCategoryList(model.getCategoryList());
-            view.showEmptyCategoryListStatement(model.getCategoryList().size() == 0);
+            updateCategoryList();
         }
         else
             view.onErrorAddNewCategory();
     }
 
+    public List<Category> getCategoryList() {
+        return model.getCategoryList();
+    }
+
     public void navigateToMainActivity() {
         view.navigateToMainActivity();
     }
@@ -46,7 +46,15 @@ public class EditProductPresenter {
     }
 
     public void setProduct(int productId){
-        model.setProductId(productId);
+        model.loadProduct(productId, this::showProduct);
+    }
+
+    private void showProduct(){
+        if(model.isProductListEmpty()) {
+            view.navigateToMyPantryActivity();
+            return;
+        }
+        productDataView.showStorageLocations(model.getStorageLocationsArray());
         GroupProducts groupProducts = model.getGroupProducts();
         int productTypeSpinnerPosition = model.getProductTypeSpinnerPosition();
         int productFeaturesSpinnerPosition = model.getProductFeaturesSpinnerPosition(productTypeSpinnerPosition);
@@ -70,16 +78,13 @@ public class EditProductPresenter {
         else if (!model.isTypeOfProductValid(groupProducts.getProduct()))
             productDataView.showErrorCategoryNotSelected();
         else {
-            model.updateDatabase(groupProducts);
-            view.onSavedProduct();
-            view.navigateToMyPantryActivity();
+            model.updateDatabase(groupProducts, () -> {
+                view.onSavedProduct();
+                view.navigateToMyPantryActivity();
+            });
         }
     }
 
-    public String[] getStorageLocationsArray(){
-        return model.getStorageLocationsArray();
-    }
-
     public void setExpirationDate(int year, int month, int day) {
         model.setExpirationDate(model.formatDate(year, month+1, day));
     }
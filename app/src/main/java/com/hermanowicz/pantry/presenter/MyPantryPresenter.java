@@ -19,15 +19,16 @@ package com.hermanowicz.pantry.presenter;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagedList;
 
-import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.filter.Filter;
 import com.hermanowicz.pantry.filter.FilterModel;
+import com.hermanowicz.pantry.filter.FilterSet;
 import com.hermanowicz.pantry.interfaces.MyPantryView;
-import com.hermanowicz.pantry.model.GroupProducts;
 import com.hermanowicz.pantry.model.MyPantryModel;
+import com.hermanowicz.pantry.model.ProductGroupListItem;
 
 import java.util.List;
+import java.util.Set;
 
 public class MyPantryPresenter {
 
@@ -39,16 +40,13 @@ public class MyPantryPresenter {
         this.model = model;
     }
 
-    public void setAllProductsList(){
-        model.setAllProductsList();
+    public void setProductList(@NonNull List<ProductGroupListItem> groupProductsList) {
+        view.showProductsNotFound(groupProductsList.size() == 0);
+        model.setGroupProductsList(groupProductsList);
+        view.refreshProductsRecyclerViewAdapter();
     }
 
-    public void setProductList(@NonNull List<Product> productList) {
-        view.showProductsNotFound(productList.size() == 0);
-        model.setProductList(productList);
-    }
-
-    public List<GroupProducts> getGroupProductsList() {
+    public List<ProductGroupListItem> getGroupProductsList() {
         return model.getGroupProductsList();
     }
 
@@ -56,8 +54,8 @@ public class MyPantryPresenter {
         model.clearSelectList();
     }
 
-    public List<Product> getGroupsProductsSelectList() {
-        return model.getGroupsSelectedProductList();
+    public Set<String> getSelectedGroupKeys() {
+        return model.getSelectedGroupKeys();
     }
 
     public void setIsMultiSelect(boolean state) {
@@ -74,16 +72,14 @@ public class MyPantryPresenter {
     }
 
     public void deleteSelectedProducts() {
-        List<Product> productList = model.getAllSelectedProductList();
-        model.deleteSelectedProducts();
-        view.onDeleteProducts(productList);
-        clearFilters();
+        model.deleteSelectedProducts(productList -> {
+            view.onDeleteProducts(productList);
+            clearFilters();
+        });
     }
 
     public void printSelectedProducts() {
-        List<Product> productList = model.getAllSelectedProductList();
-
-        view.onPrintProducts(productList);
+        model.loadAllSelectedProductList(view::onPrintProducts);
     }
 
     public void clearFilters() {
@@ -97,7 +93,7 @@ public class MyPantryPresenter {
         model.setProductsLiveData();
     }
 
-    public LiveData<List<Product>> getProductLiveData() {
+    public LiveData<PagedList<ProductGroupListItem>> getProductLiveData() {
         return model.getProductLiveData();
     }
 
@@ -105,14 +101,22 @@ public class MyPantryPresenter {
         return model.getFilterProduct();
     }
 
-    public void setFilterName(String filterName) {
+    public void setFilterName(String filterName, boolean isNameFuzzy) {
         if(filterName == null) { //For disabled filter
             view.clearFilterIcon(1);
         } else {
             view.setFilterIcon(1);
         }
-        setProductsLiveData();
-        model.filterProductListByName(filterName);
+        model.filterProductListByName(filterName, isNameFuzzy);
+        view.updateProductsRecyclerViewAdapter();
+    }
+
+    /**
+     * Shows the products found by the name while it is typed. The filter icon is set when
+     * the name is confirmed.
+     */
+    public void searchFilterName(String filterName, boolean isNameFuzzy) {
+        model.searchProductListByName(filterName, isNameFuzzy);
         view.updateProductsRecyclerViewAdapter();
     }
 
@@ -122,7 +126,6 @@ public class MyPantryPresenter {
         } else {
             view.setFilterIcon(2);
         }
-        setProductsLiveData();
         model.filterProductListByExpirationDate(filterExpirationDateSince, filterExpirationDateFor);
         view.updateProductsRecyclerViewAdapter();
     }
@@ -133,7 +136,6 @@ public class MyPantryPresenter {
         } else {
             view.setFilterIcon(3);
         }
-        setProductsLiveData();
         model.filterProductListByProductionDate(filterProductionDateSince, filterProductionDateFor);
         view.updateProductsRecyclerViewAdapter();
     }
@@ -144,7 +146,6 @@ public class MyPantryPresenter {
         } else {
             view.setFilterIcon(4);
         }
-        setProductsLiveData();
         model.filterProductListByTypeOfProduct(filterTypeOfProduct, filterProductFeatures);
         view.updateProductsRecyclerViewAdapter();
     }
@@ -155,7 +156,6 @@ public class MyPantryPresenter {
         } else {
             view.setFilterIcon(5);
         }
-        setProductsLiveData();
         model.filterProductListByVolume(filterVolumeSince, filterVolumeFor);
         view.updateProductsRecyclerViewAdapter();
     }
@@ -166,7 +166,6 @@ public class MyPantryPresenter {
         } else {
             view.setFilterIcon(6);
         }
-        setProductsLiveData();
         model.filterProductListByWeight(filterWeightSince, filterWeightFor);
         view.updateProductsRecyclerViewAdapter();
     }
@@ -177,20 +176,18 @@ public class MyPantryPresenter {
         } else {
             view.setFilterIcon(7);
         }
-        setProductsLiveData();
         model.filterProductListByTaste(filterTaste);
         view.updateProductsRecyclerViewAdapter();
     }
 
-    public void setFilterProductFeatures(Filter.Set filterHasSugar, Filter.Set filterHasSalt,
-                                         Filter.Set filterIsBio, Filter.Set filterIsVege) {
-        if(filterHasSugar == Filter.Set.DISABLED && filterHasSalt == Filter.Set.DISABLED
-                && filterIsBio == Filter.Set.DISABLED && filterIsVege == Filter.Set.DISABLED){  //For disabled filter
+    public void setFilterProductFeatures(FilterSet filterHasSugar, FilterSet filterHasSalt,
+                                         FilterSet filterIsBio, FilterSet filterIsVege) {
+        if(filterHasSugar == FilterSet.DISABLED && filterHasSalt == FilterSet.DISABLED
+                && filterIsBio == FilterSet.DISABLED && filterIsVege == FilterSet.DISABLED){  //For disabled filter
             view.clearFilterIcon(8);
         } else {
             view.setFilterIcon(8);
         }
-        setProductsLiveData();
         model.filterProductListByProductFeatures(filterHasSugar, filterHasSalt, filterIsBio, filterIsVege);
         view.updateProductsRecyclerViewAdapter();
     }
@@ -79,11 +79,12 @@ public class NewProductPresenter {
             view.showErrorCategoryNotSelected();
         else {
             model.createProductsList(product);
-            model.addProducts();
-            List<Product> productList = model.getProductList();
-            view.onProductsAdd(productList);
-            view.showStatementOnAreProductsAdded(model.getOnProductAddStatement());
-            view.navigateToPrintQRCodesActivity(productList);
+            model.addProducts(() -> {
+                List<Product> productList = model.getProductList();
+                view.onProductsAdd(productList);
+                view.showStatementOnAreProductsAdded(model.getOnProductAddStatement());
+                view.navigateToPrintQRCodesActivity(productList);
+            });
         }
     }
 
@@ -95,8 +96,8 @@ public class NewProductPresenter {
         return model.getOwnCategoriesArray();
     }
 
-    public String[] getStorageLocationsArray(){
-        return model.getStorageLocationsArray();
+    public void showStorageLocations(){
+        model.loadOwnCategoriesAndStorageLocations(() -> view.showStorageLocations(model.getStorageLocationsArray()));
     }
 
     public int[] getExpirationDateArray() {
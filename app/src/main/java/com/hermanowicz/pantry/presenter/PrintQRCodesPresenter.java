@@ -38,6 +38,8 @@ public class PrintQRCodesPresenter {
     }
 
     private boolean createAndSavePDF() {
+        if (!model.isProductListSet())
+            return false;
         boolean result = model.isWritePermission();
         if (result)
             model.createAndSavePDF();
@@ -47,7 +49,7 @@ public class PrintQRCodesPresenter {
     }
 
     public void setProductList(@NonNull List<Product> productList){
-        model.setProductList(productList);
+        model.setProductList(productList, this::showQRCodeImage);
     }
 
     public void setActivity(@NonNull AppCompatActivity activity) {
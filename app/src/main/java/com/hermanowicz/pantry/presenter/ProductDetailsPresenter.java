@@ -21,8 +21,8 @@ import androidx.annotation.NonNull;
 
 import com.hermanowicz.pantry.db.product.Product;
 import com.hermanowicz.pantry.interfaces.ProductDetailsView;
-import com.hermanowicz.pantry.model.DatabaseOperations;
 import com.hermanowicz.pantry.model.GroupProducts;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.model.PhotoModel;
 import com.hermanowicz.pantry.model.ProductDataModel;
 
@@ -34,17 +34,17 @@ public class ProductDetailsPresenter {
     private final ProductDataModel model;
     private final PhotoModel photoModel;
 
-    public ProductDetailsPresenter(@NonNull ProductDetailsView view, @NonNull ProductDataModel productDataModel, @NonNull DatabaseOperations databaseOperations) {
+    public ProductDetailsPresenter(@NonNull ProductDetailsView view, @NonNull ProductDataModel productDataModel, @NonNull PantryRepository repository) {
         this.view = view;
         this.model = productDataModel;
-        this.photoModel = new PhotoModel(databaseOperations);
+        this.photoModel = new PhotoModel(repository);
     }
 
-    public void setProductId(int productId) {
-        model.setProductId(productId);
+    public void showProductDetails(int productId, @NonNull String hashCode) {
+        model.loadProduct(productId, () -> showLoadedProductDetails(hashCode));
     }
 
-    public void showProductDetails(@NonNull String hashCode) {
+    private void showLoadedProductDetails(@NonNull String hashCode) {
         if (model.isProductListEmpty()) {
             view.showErrorWrongData();
             view.navigateToMyPantryActivity();
@@ -62,12 +62,15 @@ public class ProductDetailsPresenter {
     }
 
     public void onClickDeleteProduct(int productId) {
-        model.deleteSimilarProducts(productId);
-        view.onDeletedProduct();
-        view.navigateToMyPantryActivity();
+        model.deleteSimilarProducts(productId, () -> {
+            view.onDeletedProduct();
+            view.navigateToMyPantryActivity();
+        });
     }
 
     public void onClickPrintQRCodes() {
+        if (model.isProductListEmpty())
+            return;
         List<Product> productList = model.getProductList();
         view.navigateToPrintQRCodeActivity(productList);
     }
@@ -77,6 +80,8 @@ public class ProductDetailsPresenter {
     }
 
     public void onClickTakePhoto() {
+        if (model.isProductListEmpty())
+            return;
         view.navigateToAddPhotoActivity(model.getProductList());
     }
 
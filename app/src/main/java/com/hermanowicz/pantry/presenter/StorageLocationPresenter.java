@@ -36,9 +36,10 @@ public class StorageLocationPresenter {
     }
 
     public void updateStorageLocationList(){
-        List<StorageLocation> storageLocationList = model.getStorageLocationList();
-        view.updateStorageLocationList(storageLocationList);
-        view.showEmptyStorageLocationListStatement(storageLocationList.size() == 0);
+        model.loadStorageLocationList(storageLocationList -> {
+            view.updateStorageLocationList(storageLocationList);
+            view.showEmptyStorageLocationListStatement(storageLocationList.size() == 0);
+        });
     }
 
     public void addStorageLocation(StorageLocation storageLocation) {
@@ -46,8 +47,7 @@ public class StorageLocationPresenter {
            view.onErrorAddNewStorageLocation();
         else if(model.addStorageLocation(storageLocation)) {
             view.onSuccessAddNewStorageLocation();
-            view.updateStorageLocationList(model.getStorageLocationList());
-            view.showEmptyStorageLocationListStatement(model.getStorageLocationList().size() == 0);
+            updateStorageLocationList();
         }
         else
             view.onErrorAddNewStorageLocation();
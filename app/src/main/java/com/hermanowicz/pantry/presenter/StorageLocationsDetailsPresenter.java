@@ -34,26 +34,25 @@ public class StorageLocationsDetailsPresenter {
     }
 
     public void setStorageLocationId(int id) {
-        StorageLocation storageLocation = model.getStorageLocation(id);
-        view.showStorageLocationDetails(storageLocation);
+        model.loadStorageLocation(id, view::showStorageLocationDetails);
     }
 
-    public StorageLocation getStorageLocation(int id){
-        return model.getStorageLocation(id);
+    public StorageLocation getStorageLocation(){
+        return model.getStorageLocation();
     }
 
     public void deleteStorageLocation(int id) {
-        model.deleteStorageLocation(id);
-        view.navigateToStorageLocationActivity();
+        model.deleteStorageLocation(id, view::navigateToStorageLocationActivity);
     }
 
     public void updateStorageLocation(@NonNull StorageLocation storageLocation) {
         if(model.isStorageLocationNameNotCorrect(storageLocation.getName()) || model.isStorageLocationDescriptionNotCorrect(storageLocation.getDescription()))
             view.showErrorOnUpdateStorageLocation();
         else {
-            model.updateStorageLocation(storageLocation);
-            view.showStorageLocationUpdated();
-            view.navigateToStorageLocationActivity();
+            model.updateStorageLocation(storageLocation, () -> {
+                view.showStorageLocationUpdated();
+                view.navigateToStorageLocationActivity();
+            });
         }
     }
 
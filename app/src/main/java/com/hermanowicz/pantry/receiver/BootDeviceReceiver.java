@@ -39,6 +39,7 @@ public class BootDeviceReceiver extends BroadcastReceiver {
 
     @Override
     public void onReceive(@NonNull Context context, @NonNull Intent intent) {
-       Notification.createNotificationsForAllProducts(context);
+       PendingResult pendingResult = goAsync();
+       Notification.createNotificationsForAllProducts(context, pendingResult::finish);
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.util;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <h1>AppExecutors</h1>
+ * Executors shared by the whole application. Database work runs on a single background thread,
+ * so tasks are executed - and their results delivered to the main thread - in the order they
+ * were submitted.
+ *
+ * @author  Mateusz Hermanowicz
+ * @version 1.0
+ * @since   1.9
+ */
+
+public class AppExecutors {
+
+    private static final String DISK_IO_THREAD_NAME = "pantry-disk-io";
+
+    private static AppExecutors INSTANCE;
+    private static final Object sLock = new Object();
+
+    private final ExecutorService diskIO;
+    private final Executor mainThread;
+
+    public AppExecutors(@NonNull ExecutorService diskIO, @NonNull Executor mainThread) {
+        this.diskIO = diskIO;
+        this.mainThread = mainThread;
+    }
+
+    public static AppExecutors getInstance() {
+        synchronized (sLock) {
+            if (INSTANCE == null) {
+                INSTANCE = new AppExecutors(
+                        Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, DISK_IO_THREAD_NAME)),
+                        new MainThreadExecutor());
+            }
+            return INSTANCE;
+        }
+    }
+
+    public ExecutorService diskIO() {
+        return diskIO;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    private static class MainThreadExecutor implements Executor {
+
+        private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            mainThreadHandler.post(command);
+        }
+    }
+}
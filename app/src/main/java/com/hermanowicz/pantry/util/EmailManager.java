@@ -18,12 +18,14 @@
 package com.hermanowicz.pantry.util;
 
 import android.app.Application;
+import android.os.StrictMode;
 import android.text.TextUtils;
 
 import com.android.volley.Request;
 import com.android.volley.RequestQueue;
 import com.android.volley.VolleyLog;
 import com.android.volley.toolbox.Volley;
+import com.hermanowicz.pantry.BuildConfig;
 
 public class EmailManager extends Application {
 
@@ -35,6 +37,21 @@ public class EmailManager extends Application {
     public void onCreate() {
         super.onCreate();
         instance = this;
+        if (BuildConfig.DEBUG)
+            enableStrictMode();
+    }
+
+    private void enableStrictMode() {
+        StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                .detectDiskReads()
+                .detectDiskWrites()
+                .penaltyLog()
+                .build());
+        StrictMode.setVmPolicy(new StrictMode.VmPolicy.Builder()
+                .detectLeakedSqlLiteObjects()
+                .detectLeakedClosableObjects()
+                .penaltyLog()
+                .build());
     }
 
     public static synchronized EmailManager getInstance() {
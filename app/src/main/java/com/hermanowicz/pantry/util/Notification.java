@@ -27,13 +27,12 @@ import android.preference.PreferenceManager;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.hermanowicz.pantry.db.DateConverter;
 import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.db.product.ProductDb;
+import com.hermanowicz.pantry.model.PantryRepository;
 import com.hermanowicz.pantry.receiver.NotificationBroadcastReceiver;
 
-import java.sql.Date;
 import java.util.Calendar;
-import java.util.List;
 
 /**
  * <h1>Notification</h1>
@@ -50,14 +49,11 @@ public class Notification {
     public static final int NOTIFICATION_DEFAULT_DAYS = 3;
     private static final String PREFERENCES_DAYS_TO_NOTIFICATIONS = "HOW_MANY_DAYS_BEFORE_EXPIRATION_DATE_SEND_A_NOTIFICATION?";
 
-    private static Calendar createCalendar(@NonNull Context context, @NonNull String expirationDate){
-        String[] dateArray = expirationDate.split("-");
+    private static Calendar createCalendar(@NonNull Context context, long expirationEpochDay){
         Calendar calendar = Calendar.getInstance();
         SharedPreferences preferences = PreferenceManager.getDefaultSharedPreferences(context);
 
-        calendar.set(Calendar.YEAR, Integer.parseInt(dateArray[0]));
-        calendar.set(Calendar.MONTH, (Integer.parseInt(dateArray[1]))-1);
-        calendar.set(Calendar.DAY_OF_MONTH, Integer.parseInt(dateArray[2]));
+        calendar.add(Calendar.DAY_OF_MONTH, (int) (expirationEpochDay - DateConverter.getTodayEpochDay()));
         calendar.set(Calendar.HOUR_OF_DAY, Notification.NOTIFICATION_DEFAULT_HOUR);
         calendar.set(Calendar.MINUTE, 0);
         calendar.set(Calendar.SECOND, 0);
@@ -75,9 +71,10 @@ public class Notification {
         PendingIntent pendingIntent = PendingIntent.getBroadcast(context, product.getId(), intent, PendingIntent.FLAG_UPDATE_CURRENT);
         AlarmManager alarmManager = (AlarmManager)(context.getSystemService(Context.ALARM_SERVICE));
 
-        if(!product.getExpirationDate().equals("-"))
+        Long expirationEpochDay = DateConverter.toEpochDay(product.getExpirationDate());
+        if(expirationEpochDay != null)
         {
-            Calendar calendar = createCalendar(context, product.getExpirationDate());
+            Calendar calendar = createCalendar(context, expirationEpochDay);
             assert alarmManager != null;
             alarmManager.setExactAndAllowWhileIdle(AlarmManager.RTC_WAKEUP,
                     calendar.getTimeInMillis(), pendingIntent);
@@ -85,15 +82,21 @@ public class Notification {
     }
 
     public static void createNotificationsForAllProducts(@NonNull Context context){
-        ProductDb productDb = ProductDb.getInstance(context);
-        List<Product> productsList = productDb.productsDao().getAllProductsList();
-
-        for(int counter=0; counter < productsList.size(); counter++){
-            Product selectedProduct = productsList.get(counter);
-            String expirationDate = selectedProduct.getExpirationDate();
-            if (Date.valueOf(expirationDate).after(new Date(System.currentTimeMillis())))
-                Notification.createNotification(context, selectedProduct);
-        }
+        createNotificationsForAllProducts(context, null);
+    }
+
+    public static void createNotificationsForAllProducts(@NonNull Context context, @Nullable Runnable onComplete){
+        new PantryRepository(context).getAllProducts(productsList -> {
+            long todayEpochDay = DateConverter.getTodayEpochDay();
+            for(int counter=0; counter < productsList.size(); counter++){
+                Product selectedProduct = productsList.get(counter);
+                Long expirationEpochDay = DateConverter.toEpochDay(selectedProduct.getExpirationDate());
+                if (expirationEpochDay != null && expirationEpochDay > todayEpochDay)
+                    Notification.createNotification(context, selectedProduct);
+            }
+            if(onComplete != null)
+                onComplete.run();
+        });
     }
 
     public static void cancelNotification(@NonNull Context context, @NonNull Product product) {
@@ -110,18 +113,18 @@ public class Notification {
     }
 
     public static void cancelAllNotifications(@NonNull Context context) {
-        ProductDb productDb = ProductDb.getInstance(context);
-        List<Product> productsList = productDb.productsDao().getAllProductsList();
-        AlarmManager alarmManager = (AlarmManager)(context.getSystemService(Context.ALARM_SERVICE));
-        Intent intent = new Intent(context, NotificationBroadcastReceiver.class);
-        for(int i = 0; i < productsList.size(); i++){
-            if(!productsList.get(i).getExpirationDate().equals("-")) {
-                PendingIntent pendingIntent = PendingIntent.getBroadcast(
-                        context, productsList.get(i).getId(), intent,
-                        PendingIntent.FLAG_UPDATE_CURRENT);
-                pendingIntent.cancel();
-                alarmManager.cancel(pendingIntent);
+        new PantryRepository(context).getAllProducts(productsList -> {
+            AlarmManager alarmManager = (AlarmManager)(context.getSystemService(Context.ALARM_SERVICE));
+            Intent intent = new Intent(context, NotificationBroadcastReceiver.class);
+            for(int i = 0; i < productsList.size(); i++){
+                if(!productsList.get(i).getExpirationDate().equals("-")) {
+                    PendingIntent pendingIntent = PendingIntent.getBroadcast(
+                            context, productsList.get(i).getId(), intent,
+                            PendingIntent.FLAG_UPDATE_CURRENT);
+                    pendingIntent.cancel();
+                    alarmManager.cancel(pendingIntent);
+                }
             }
-        }
+        });
     }
 }
\ No newline at end of file
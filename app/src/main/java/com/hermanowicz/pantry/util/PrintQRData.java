@@ -61,7 +61,8 @@ public class PrintQRData {
                 else
                     jsonObject.put("product_id", idOfLastProductInDb - counter);
                 jsonObject.put("hash_code", product.getHashCode());
-                textToQRCodeList.add(jsonObject.toString());
+                for (int unit = 0; unit < product.getQuantity(); unit++)
+                    textToQRCodeList.add(jsonObject.toString());
             } catch (JSONException e) {
                 Log.e("json", e.toString());
             }
@@ -75,11 +76,10 @@ public class PrintQRData {
 
         for (Product product : productsList) {
             String productName = product.getName();
-            if (productName.length() > 15) {
-                namesOfProductsList.add(productName.substring(0, 14) + ".");
-            } else {
+            if (productName.length() > 15)
+                productName = productName.substring(0, 14) + ".";
+            for (int unit = 0; unit < product.getQuantity(); unit++)
                 namesOfProductsList.add(productName);
-            }
         }
         return namesOfProductsList;
     }
@@ -88,7 +88,8 @@ public class PrintQRData {
         ArrayList<String> expirationDatesList = new ArrayList<>();
 
         for (Product product : productsList) {
-            expirationDatesList.add(product.getExpirationDate());
+            for (int unit = 0; unit < product.getQuantity(); unit++)
+                expirationDatesList.add(product.getExpirationDate());
         }
         return expirationDatesList;
     }
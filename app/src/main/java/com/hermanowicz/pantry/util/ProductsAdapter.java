@@ -20,7 +20,6 @@ package com.hermanowicz.pantry.util;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.content.res.Resources;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -30,19 +29,19 @@ import android.widget.TextView;
 
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
+import androidx.paging.PagedList;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.hermanowicz.pantry.R;
 import com.hermanowicz.pantry.databinding.RvSingleProductBinding;
-import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.model.GroupProducts;
+import com.hermanowicz.pantry.db.DateConverter;
+import com.hermanowicz.pantry.db.product.ProductListItem;
+import com.hermanowicz.pantry.model.ProductGroupListItem;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class ProductsAdapter extends
         RecyclerView.Adapter<ProductsAdapter.ViewHolder> {
@@ -51,9 +50,24 @@ public class ProductsAdapter extends
 
     private static final String PREFERENCES_DAYS_TO_NOTIFICATIONS = "HOW_MANY_DAYS_BEFORE_EXPIRATION_DATE_SEND_A_NOTIFICATION?";
 
-    private List<GroupProducts> productList = new ArrayList<>();
-    private List<Product> multiSelectList = new ArrayList<>();
-    private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    private List<ProductGroupListItem> productList = new ArrayList<>();
+    private final PagedList.Callback pagedListCallback = new PagedList.Callback() {
+        @Override
+        public void onChanged(int position, int count) {
+            notifyItemRangeChanged(position, count);
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(position, count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(position, count);
+        }
+    };
+    private Set<String> selectedGroupKeys = new HashSet<>();
     private final SharedPreferences preferences;
     int itemAnimPosition = -1;
 
@@ -61,13 +75,25 @@ public class ProductsAdapter extends
         this.preferences = preferences;
     }
 
-    public void setData(@NonNull List<GroupProducts> newData){
+    /**
+     * Shows the list of groups of products. Pages loaded later into a paged list are
+     * shown as they arrive.
+     */
+    public void setData(@NonNull List<ProductGroupListItem> newData){
+        if(productList instanceof PagedList)
+            ((PagedList<ProductGroupListItem>) productList).removeWeakCallback(pagedListCallback);
         this.productList = newData;
+        if(newData instanceof PagedList)
+            ((PagedList<ProductGroupListItem>) newData).addWeakCallback(null, pagedListCallback);
         notifyDataSetChanged();
     }
 
-    public void setMultiSelectList(@NonNull List<Product> multiSelectList){
-        this.multiSelectList = multiSelectList;
+    /**
+     * Groups are selected by their keys, so a selected group stays selected when its list is
+     * loaded again.
+     */
+    public void setSelectedGroupKeys(@NonNull Set<String> selectedGroupKeys){
+        this.selectedGroupKeys = selectedGroupKeys;
         notifyDataSetChanged();
     }
 
@@ -83,11 +109,12 @@ public class ProductsAdapter extends
         TextView isVege = binding.textIsVege;
         TextView isBio = binding.textIsBio;
 
+        if(productList instanceof PagedList)
+            ((PagedList<ProductGroupListItem>) productList).loadAround(position);
+
         Context context = nameTv.getContext();
         Resources resources = context.getResources();
-        final Product product = productList.get(position).getProduct();
-        Calendar calendar = Calendar.getInstance();
-        Date expirationDateDt = calendar.getTime();
+        final ProductListItem product = productList.get(position).getProduct();
         String quantityString = String.format("%s: %s", resources.getString(R.string.Product_quantity), productList.get(position).getQuantity());
         String weightString = String.format("%s: %s%s", resources.getString(R.string.Product_weight), product.getWeight(), resources.getString(R.string.Product_weight_unit));
         String volumeString = String.format("%s: %s%s", resources.getString(R.string.Product_volume), product.getVolume(), resources.getString(R.string.Product_volume_unit));
@@ -120,19 +147,14 @@ public class ProductsAdapter extends
             expirationDateTv.setText(product.getExpirationDate());
         }
 
-        try {
-            expirationDateDt = simpleDateFormat.parse(product.getExpirationDate());
-        } catch (ParseException e) {
-            Log.e("ProductsAdapter", e.toString());
-        }
-        calendar.add(Calendar.DAY_OF_MONTH, Integer.parseInt(preferences.getString(
-                PREFERENCES_DAYS_TO_NOTIFICATIONS, String.valueOf(Notification.NOTIFICATION_DEFAULT_DAYS))));
-        Date dayOfNotification = calendar.getTime();
-        if (multiSelectList.contains(productList.get(position).getProduct())) {
+        Long expirationEpochDay = DateConverter.toEpochDay(product.getExpirationDate());
+        long dayOfNotification = DateConverter.getTodayEpochDay() + Integer.parseInt(preferences.getString(
+                PREFERENCES_DAYS_TO_NOTIFICATIONS, String.valueOf(Notification.NOTIFICATION_DEFAULT_DAYS)));
+        if (selectedGroupKeys.contains(product.getGroupKey())) {
             viewHolder.itemView.setBackgroundColor(ContextCompat.getColor(context, R.color.background_product_selected));
         }
         else{
-            if (dayOfNotification.before(expirationDateDt) || product.getExpirationDate().equals("-")) {
+            if (expirationEpochDay == null || dayOfNotification < expirationEpochDay) {
                 viewHolder.itemView.setBackgroundColor(ContextCompat.getColor(context, R.color.background_material));
             } else {
                 viewHolder.itemView.setBackgroundColor(ContextCompat.getColor(context, R.color.background_expired_products));
@@ -19,14 +19,24 @@ package com.hermanowicz.pantry.db;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.hermanowicz.pantry.db.category.Category;
 import com.hermanowicz.pantry.db.category.CategoryDao;
-import com.hermanowicz.pantry.db.category.CategoryDb;
 import com.hermanowicz.pantry.db.product.Product;
-import com.hermanowicz.pantry.db.product.ProductDb;
+import com.hermanowicz.pantry.db.product.ProductGroupKey;
+import com.hermanowicz.pantry.db.product.ProductListItem;
 import com.hermanowicz.pantry.db.product.ProductsDao;
+import com.hermanowicz.pantry.filter.FilterModel;
+import com.hermanowicz.pantry.filter.FilterQueryBuilder;
+import com.hermanowicz.pantry.interfaces.ProductChangeListener;
+import com.hermanowicz.pantry.model.ProductChangeFeed;
+import com.hermanowicz.pantry.model.ProductChanges;
+import com.hermanowicz.pantry.model.ProductGroupListItem;
+import com.hermanowicz.pantry.util.AppExecutors;
 
 import org.junit.After;
 import org.junit.Before;
@@ -35,7 +45,15 @@ import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.RuntimeEnvironment;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertEquals;
@@ -44,20 +62,26 @@ import static org.junit.Assert.assertThat;
 @RunWith(RobolectricTestRunner.class)
 public class DatabaseTest {
 
+    private AppDb appDb;
+
     private ProductsDao productsDao;
-    private ProductDb productDb;
 
     private CategoryDao categoryDao;
-    private CategoryDb categoryDb;
 
     @Before
     public void createDb() {
         Context context = RuntimeEnvironment.systemContext;
-        productDb = Room.inMemoryDatabaseBuilder(context, ProductDb.class).allowMainThreadQueries().build();
-        categoryDb = Room.inMemoryDatabaseBuilder(context, CategoryDb.class).allowMainThreadQueries().build();
+        appDb = Room.inMemoryDatabaseBuilder(context, AppDb.class)
+                .addCallback(new RoomDatabase.Callback() {
+                    @Override
+                    public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                        AppDb.createLinkTriggers(db);
+                    }
+                })
+                .allowMainThreadQueries().build();
 
-        productsDao = productDb.productsDao();
-        categoryDao = categoryDb.categoryDao();
+        productsDao = appDb.productsDao();
+        categoryDao = appDb.categoryDao();
     }
 
     @Test
@@ -89,12 +113,317 @@ public class DatabaseTest {
 
             productList.add(product);
         }
-        productDb.productsDao().addProducts(productList);
+        appDb.productsDao().addProducts(productList);
 
         productList = productsDao.getAllProductsList();
         assertThat(productList.size(), equalTo(3));
     }
 
+    @Test
+    public void canIFindSimilarProductsByGroupKey() {
+        productsDao.clearDb();
+
+        List<Product> productList = new ArrayList<>();
+        for(int counter = 0; 3 > counter; counter++)
+        {
+            Product product = new Product();
+            product.setName("Apple juice");
+            productList.add(product);
+        }
+        Product otherProduct = new Product();
+        otherProduct.setName("Orange juice");
+        productList.add(otherProduct);
+        productsDao.addProducts(productList);
+
+        List<Product> similarProducts = productsDao.getProductsByGroupKey(ProductGroupKey.generate(productList.get(0)));
+        assertThat(similarProducts.size(), equalTo(3));
+    }
+
+    @Test
+    public void areNamesDifferentInCaseNotGrouped() {
+        productsDao.clearDb();
+
+        Product milk = new Product();
+        milk.setName("Milk");
+        Product lowerCaseMilk = new Product();
+        lowerCaseMilk.setName("milk");
+        productsDao.addProducts(Arrays.asList(milk, lowerCaseMilk));
+
+        assertThat(productsDao.getProductsByGroupKey(ProductGroupKey.generate(milk)).size(), equalTo(1));
+        assertThat(getAllProductGroups().size(), equalTo(2));
+    }
+
+    @Test
+    public void isSearchNameLowerCasedWithoutDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            Product product = new Product();
+            product.setName("TITLE");
+            assertThat(product.getSearchName(), equalTo("title"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void canIGroupSimilarProductsInDatabase() {
+        canIFindSimilarProductsByGroupKey();
+        List<Product> productList = productsDao.getAllProductsList();
+
+        List<ProductGroupListItem> groupProductsList = getAllProductGroups();
+        assertThat(groupProductsList.size(), equalTo(2));
+        for(ProductGroupListItem groupProducts : groupProductsList) {
+            if(groupProducts.getProduct().getName().equals("Apple juice")) {
+                assertThat(groupProducts.getQuantity(), equalTo(3));
+                assertThat(groupProducts.getProduct().getId(), equalTo(groupProducts.getFirstId()));
+                assertThat(groupProducts.getLastId() - groupProducts.getFirstId(), equalTo(2));
+                assertThat(groupProducts.getMemberIdList().size(), equalTo(3));
+            }
+            else
+                assertThat(groupProducts.getQuantity(), equalTo(1));
+        }
+        assertThat(productList.size(), equalTo(4));
+    }
+
+    @Test
+    public void canIReadListColumnsOfProductGroups() {
+        productsDao.clearDb();
+
+        Product product = new Product();
+        product.setName("Apple juice");
+        product.setExpirationDate("2021-3-7");
+        product.setComposition("Apples");
+        product.setVolume(1000);
+        product.setHasSugar(true);
+        productsDao.addProducts(Collections.singletonList(product));
+        Product storedProduct = productsDao.getAllProductsList().get(0);
+
+        ProductListItem listItem = getAllProductGroups()
+                .get(0).getProduct();
+        assertThat(listItem.getId(), equalTo(storedProduct.getId()));
+        assertThat(listItem.getName(), equalTo("Apple juice"));
+        assertThat(listItem.getExpirationDate(), equalTo("2021-3-7"));
+        assertThat(listItem.getVolume(), equalTo(1000));
+        assertThat(listItem.getHasSugar(), equalTo(true));
+        assertThat(listItem.getGroupKey(), equalTo(storedProduct.getGroupKey()));
+    }
+
+    @Test
+    public void canIFoldSimilarProductsIntoOneBatch() {
+        canIFindSimilarProductsByGroupKey();
+
+        Product appleJuice = new Product();
+        appleJuice.setName("Apple juice");
+        List<Product> similarProducts = productsDao.getProductsByGroupKey(ProductGroupKey.generate(appleJuice));
+        Product batch = similarProducts.get(0);
+        batch.setQuantity(5);
+        productsDao.mergeIntoBatch(batch, similarProducts.subList(1, similarProducts.size()));
+
+        List<Product> batches = productsDao.getProductsByGroupKey(batch.getGroupKey());
+        assertThat(batches.size(), equalTo(1));
+        assertThat(batches.get(0).getQuantity(), equalTo(5));
+        assertThat(productsDao.getProductByLabelId(similarProducts.get(1).getId()).getId(), equalTo(batch.getId()));
+    }
+
+    @Test
+    public void canIFoldMoreProductsThanOneQueryCanBind() {
+        productsDao.clearDb();
+
+        List<Product> productList = new ArrayList<>();
+        for(int counter = 0; 1200 > counter; counter++)
+        {
+            Product product = new Product();
+            product.setName("Apple juice");
+            productList.add(product);
+        }
+        productsDao.addProducts(productList);
+
+        List<Product> similarProducts = productsDao.getProductsByGroupKey(productList.get(0).getGroupKey());
+        Product batch = similarProducts.get(0);
+        batch.setQuantity(similarProducts.size());
+        productsDao.mergeIntoBatch(batch, similarProducts.subList(1, similarProducts.size()));
+
+        List<Product> batches = productsDao.getProductsByGroupKey(batch.getGroupKey());
+        assertThat(batches.size(), equalTo(1));
+        assertThat(batches.get(0).getQuantity(), equalTo(1200));
+        assertThat(productsDao.getProductByLabelId(similarProducts.get(1199).getId()).getId(), equalTo(batch.getId()));
+    }
+
+    @Test
+    public void canIDeleteProductsByIds() {
+        canIFindSimilarProductsByGroupKey();
+
+        List<Product> productList = productsDao.getAllProductsList();
+        List<Integer> productIds = new ArrayList<>();
+        productIds.add(productList.get(0).getId());
+        productIds.add(productList.get(1).getId());
+        productsDao.deleteProductsByIds(productIds);
+
+        assertThat(productsDao.getAllProductsList().size(), equalTo(2));
+    }
+
+    @Test
+    public void canIMoveProductGroupToOtherStorageLocation() {
+        canIFindSimilarProductsByGroupKey();
+
+        Product appleJuice = new Product();
+        appleJuice.setName("Apple juice");
+        String groupKey = ProductGroupKey.generate(appleJuice);
+        productsDao.moveProductGroup(groupKey, "Fridge");
+
+        assertThat(productsDao.getProductsByGroupKey(groupKey).size(), equalTo(0));
+        appleJuice.setStorageLocation("Fridge");
+        List<Product> movedProducts = productsDao.getProductsByGroupKey(ProductGroupKey.generate(appleJuice));
+        assertThat(movedProducts.size(), equalTo(3));
+        assertThat(movedProducts.get(0).getStorageLocation(), equalTo("Fridge"));
+    }
+
+    @Test
+    public void canISortProductsByExpirationDate() {
+        productsDao.clearDb();
+
+        List<Product> productList = new ArrayList<>();
+        for(String expirationDate : new String[]{"2021-3-10", "-", "2021-3-9"})
+        {
+            Product product = new Product();
+            product.setExpirationDate(expirationDate);
+            productList.add(product);
+        }
+        productsDao.addProducts(productList);
+
+        productList = productsDao.getAllProductsList();
+        assertThat(productList.get(0).getExpirationDate(), equalTo("-"));
+        assertThat(productList.get(1).getExpirationDate(), equalTo("2021-3-9"));
+        assertThat(productList.get(2).getExpirationDate(), equalTo("2021-3-10"));
+    }
+
+    @Test
+    public void canIFilterProductsByTextColumns() {
+        productsDao.clearDb();
+
+        List<Product> productList = new ArrayList<>();
+        String[][] texts = {{"Bread", "Wheat flour, gluten"}, {"Gluten free bread", "Rice flour"}, {"Honey", "-"}};
+        for(String[] text : texts)
+        {
+            Product product = new Product();
+            product.setName(text[0]);
+            product.setComposition(text[1]);
+            productList.add(product);
+        }
+        productsDao.addProducts(productList);
+
+        FilterModel filterModel = new FilterModel();
+        filterModel.setComposition("gluten");
+        List<ProductGroupListItem> groupProductsList = getAllProductGroups(filterModel);
+        assertThat(groupProductsList.size(), equalTo(1));
+        assertThat(groupProductsList.get(0).getProduct().getName(), equalTo("Bread"));
+
+        filterModel.setComposition("FLOU");
+        assertThat(getAllProductGroups(filterModel).size(), equalTo(2));
+        filterModel.setComposition("whe FLOUR");
+        assertThat(getAllProductGroups(filterModel).size(), equalTo(1));
+        filterModel.setComposition("heat");
+        assertThat(getAllProductGroups(filterModel).size(), equalTo(0));
+        filterModel.setComposition(" , ");
+        assertThat(getAllProductGroups(filterModel).size(), equalTo(3));
+
+        List<Integer> deletedIds = new ArrayList<>();
+        for(Product product : productsDao.getAllProductsList())
+            deletedIds.add(product.getId());
+        productsDao.deleteProductsByIds(deletedIds);
+        filterModel.setComposition("gluten");
+        assertThat(getAllProductGroups(filterModel).size(), equalTo(0));
+    }
+
+    @Test
+    public void canIReceiveChangesOfCommittedTransactions() throws Exception {
+        productsDao.clearDb();
+        AppExecutors appExecutors = new AppExecutors(Executors.newSingleThreadExecutor(), Runnable::run);
+        ProductChangeFeed productChangeFeed = new ProductChangeFeed(appDb, appExecutors);
+        BlockingQueue<ProductChanges> changesQueue = new LinkedBlockingQueue<>();
+        productChangeFeed.addListener(changesQueue::add);
+        appExecutors.diskIO().submit(() -> {}).get();
+
+        List<Product> productList = new ArrayList<>();
+        for(int counter = 0; 3 > counter; counter++) {
+            Product product = new Product();
+            product.setName("Apple juice " + counter);
+            productList.add(product);
+        }
+        productsDao.addProducts(productList);
+        ProductChanges productChanges = changesQueue.poll(5, TimeUnit.SECONDS);
+        assertThat(productChanges.getInsertedProductList().size(), equalTo(3));
+        assertThat(productChanges.getUpdatedProductList().size(), equalTo(0));
+        assertThat(productChanges.getDeletedProductIds().size(), equalTo(0));
+
+        productList = productsDao.getAllProductsList();
+        Product updatedProduct = productList.get(0);
+        int deletedProductId = productList.get(1).getId();
+        appDb.runInTransaction(() -> {
+            updatedProduct.setName("Orange juice");
+            productsDao.updateProduct(updatedProduct);
+            productsDao.deleteProductsByIds(Collections.singletonList(deletedProductId));
+        });
+        productChanges = changesQueue.poll(5, TimeUnit.SECONDS);
+        assertThat(productChanges.getInsertedProductList().size(), equalTo(0));
+        assertThat(productChanges.getUpdatedProductList().size(), equalTo(1));
+        assertThat(productChanges.getUpdatedProductList().get(0).getName(), equalTo("Orange juice"));
+        assertThat(productChanges.getDeletedProductIds(), equalTo(Collections.singletonList(deletedProductId)));
+        assertThat(changesQueue.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void areChangesLoggedOnlyWhileListened() throws Exception {
+        productsDao.clearDb();
+        canIWriteProductsAndReadInList();
+        assertThat(productsDao.getProductChanges().size(), equalTo(0));
+
+        AppExecutors appExecutors = new AppExecutors(Executors.newSingleThreadExecutor(), Runnable::run);
+        ProductChangeFeed productChangeFeed = new ProductChangeFeed(appDb, appExecutors);
+        ProductChangeListener listener = productChanges -> {};
+        productChangeFeed.addListener(listener);
+        productChangeFeed.removeListener(listener);
+        appExecutors.diskIO().submit(() -> {}).get();
+
+        canIWriteProductsAndReadInList();
+        assertThat(productsDao.getProductChanges().size(), equalTo(0));
+    }
+
+    @Test
+    public void canILinkProductWithOwnCategory() {
+        canIWriteCategoryAndReadInList();
+        Category category = categoryDao.getAllOwnCategories().get(0);
+
+        Product product = new Product();
+        product.setProductFeatures(category.getName());
+        List<Product> productList = new ArrayList<>();
+        productList.add(product);
+        productsDao.addProducts(productList);
+
+        productList = productsDao.getAllProductsList();
+        assertThat(productList.get(0).getCategoryId(), equalTo(category.getId()));
+    }
+
+    @Test
+    public void isLinkedProductLoggedOnce() {
+        canIWriteCategoryAndReadInList();
+        Category category = categoryDao.getAllOwnCategories().get(0);
+        productsDao.clearDb();
+        SupportSQLiteDatabase database = appDb.getOpenHelper().getWritableDatabase();
+        AppDb.createChangeTriggers(database);
+
+        Product product = new Product();
+        product.setProductFeatures(category.getName());
+        productsDao.addProducts(Collections.singletonList(product));
+        database.execSQL("INSERT INTO products (productFeatures, volume, weight, hasSugar, hasSalt, isVege, isBio) " +
+                "VALUES (?, 0, 0, 0, 0, 0, 0)", new Object[]{category.getName()});
+
+        for(Product storedProduct : productsDao.getAllProductsList())
+            assertThat(storedProduct.getCategoryId(), equalTo(category.getId()));
+        assertThat(productsDao.getProductChanges().size(), equalTo(2));
+    }
+
     @Test
     public void canIClearCategoryDatabase() {
         canIWriteCategoryAndReadInList();
@@ -111,9 +440,17 @@ public class DatabaseTest {
         assertEquals(0, sizeOfDatabase);
     }
 
+    private List<ProductGroupListItem> getAllProductGroups() {
+        return getAllProductGroups(new FilterModel());
+    }
+
+    private List<ProductGroupListItem> getAllProductGroups(FilterModel filterModel) {
+        return productsDao.getProductGroupsList(
+                FilterQueryBuilder.compile(filterModel).buildGroupedPageAfter(null, null, false, Integer.MAX_VALUE));
+    }
+
     @After
     public void closeDb() {
-        categoryDb.close();
-        productDb.close();
+        appDb.close();
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DateConverterTest {
+
+    @Test
+    void canIConvertDateToEpochDay() {
+        assertEquals(0L, DateConverter.toEpochDay("1970-01-01"));
+        assertEquals(18693L, DateConverter.toEpochDay("2021-3-7"));
+        assertEquals(-1L, DateConverter.toEpochDay("1969-12-31"));
+    }
+
+    @Test
+    void canIConvertEpochDayToDateOfApplicationFormat() {
+        assertEquals("2021-3-7", DateConverter.fromEpochDay(18693L));
+        assertEquals("2020-2-29", DateConverter.fromEpochDay(DateConverter.toEpochDay("2020-2-29")));
+        assertEquals("2021-12-31", DateConverter.fromEpochDay(DateConverter.toEpochDay("2021-12-31")));
+    }
+
+    @Test
+    void isDateOutOfRangeNotRead() {
+        assertNull(DateConverter.toEpochDay("2021-13-45"));
+        assertNull(DateConverter.toEpochDay("2021-0-7"));
+        assertNull(DateConverter.toEpochDay("2021-3-0"));
+        assertNull(DateConverter.toEpochDay("2021-4-31"));
+        assertNull(DateConverter.toEpochDay("2021-2-29"));
+        assertNull(DateConverter.toEpochDay("1900-2-29"));
+        assertEquals(11016L, DateConverter.toEpochDay("2000-2-29"));
+    }
+
+    @Test
+    void isMissingDateStoredAsNull() {
+        assertNull(DateConverter.toEpochDay(DateConverter.NO_DATE));
+        assertNull(DateConverter.toEpochDay(null));
+        assertEquals(DateConverter.NO_DATE, DateConverter.fromEpochDay(null));
+    }
+
+    @Test
+    void canIParseDateWithoutConversionToObject() {
+        assertEquals(18693L, DateConverter.parseEpochDay(" 2021 - 03 -7"));
+        assertEquals(18693L, DateConverter.parseEpochDay("+2021-3-07"));
+        assertEquals(DateConverter.NO_EPOCH_DAY, DateConverter.parseEpochDay(DateConverter.NO_DATE));
+        assertEquals(DateConverter.NO_EPOCH_DAY, DateConverter.parseEpochDay("2021-3"));
+        assertEquals(DateConverter.NO_EPOCH_DAY, DateConverter.parseEpochDay("2021-3-"));
+        assertEquals(DateConverter.NO_EPOCH_DAY, DateConverter.parseEpochDay("20 21-3-7"));
+        assertEquals(DateConverter.NO_EPOCH_DAY, DateConverter.parseEpochDay("2021-3-7-1"));
+        assertEquals(DateConverter.NO_EPOCH_DAY, DateConverter.parseEpochDay("99999999999-3-7"));
+        assertEquals(DateConverter.NO_EPOCH_DAY, DateConverter.parseEpochDay(null));
+    }
+
+    @Test
+    void areEpochDaysOrderedLikeDates() {
+        assertTrue(DateConverter.toEpochDay("2021-3-10") > DateConverter.toEpochDay("2021-3-9"));
+        assertTrue(DateConverter.toEpochDay("2021-10-1") > DateConverter.toEpochDay("2021-9-30"));
+    }
+}
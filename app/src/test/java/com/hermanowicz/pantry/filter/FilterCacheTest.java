@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FilterCacheTest {
+
+    @Test
+    void isLeastRecentlyUsedResultDropped() {
+        FilterCache<String> filterCache = new FilterCache<>(2);
+        FilterSnapshot appleSnapshot = createSnapshot("Apple");
+        FilterSnapshot honeySnapshot = createSnapshot("Honey");
+        FilterSnapshot jamSnapshot = createSnapshot("Jam");
+        filterCache.put(appleSnapshot, "apple");
+        filterCache.put(honeySnapshot, "honey");
+        assertEquals("apple", filterCache.get(createSnapshot("Apple")));
+
+        filterCache.put(jamSnapshot, "jam");
+        assertEquals(2, filterCache.size());
+        assertNull(filterCache.get(honeySnapshot));
+        assertEquals("apple", filterCache.get(appleSnapshot));
+        assertEquals("jam", filterCache.get(jamSnapshot));
+
+        filterCache.clear();
+        assertNull(filterCache.get(appleSnapshot));
+    }
+
+    @Test
+    void areOnlyMatchingResultsRemoved() {
+        FilterCache<String> filterCache = new FilterCache<>(3);
+        filterCache.put(createSnapshot("Apple"), "apple");
+        filterCache.put(createSnapshot("Honey"), "honey");
+        filterCache.put(createSnapshot("Jam"), "jam");
+
+        filterCache.removeIf(result -> result.startsWith("h"));
+        assertEquals(2, filterCache.size());
+        assertNull(filterCache.get(createSnapshot("Honey")));
+        assertEquals("apple", filterCache.get(createSnapshot("Apple")));
+        assertEquals("jam", filterCache.get(createSnapshot("Jam")));
+    }
+
+    private FilterSnapshot createSnapshot(String name) {
+        FilterModel filterModel = new FilterModel();
+        filterModel.setName(name);
+        return filterModel.toSnapshot();
+    }
+}
@@ -20,6 +20,8 @@ package com.hermanowicz.pantry.filter;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FilterModelTest {
 
@@ -125,14 +127,14 @@ class FilterModelTest {
 
     @Test
     void canIGetCorrectHasSugar() {
-        Filter.Set hasSugar = Filter.Set.YES;
+        FilterSet hasSugar = FilterSet.YES;
         filterProduct.setHasSugar(hasSugar);
         assertEquals(hasSugar, filterProduct.getHasSugar());
     }
 
     @Test
     void canIGetCorrectHasSalt() {
-        Filter.Set hasSalt = Filter.Set.DISABLED;
+        FilterSet hasSalt = FilterSet.DISABLED;
         filterProduct.setHasSalt(hasSalt);
         assertEquals(hasSalt, filterProduct.getHasSalt());
     }
@@ -143,4 +145,51 @@ class FilterModelTest {
         filterProduct.setTaste(taste);
         assertEquals(taste, filterProduct.getTaste());
     }
-}
\ No newline at end of file
+
+    @Test
+    void areSnapshotsOfSameFilterEqual() {
+        filterProduct.setName("Apple");
+        filterProduct.setWeightSince(100);
+        filterProduct.setIsBio(FilterSet.YES);
+        FilterModel otherFilterProduct = new FilterModel();
+        otherFilterProduct.setName("Apple");
+        otherFilterProduct.setWeightSince(100);
+        otherFilterProduct.setIsBio(FilterSet.YES);
+        assertEquals(filterProduct.toSnapshot(), otherFilterProduct.toSnapshot());
+        assertEquals(filterProduct.toSnapshot().hashCode(), otherFilterProduct.toSnapshot().hashCode());
+
+        otherFilterProduct.setIsNameFuzzy(true);
+        assertNotEquals(filterProduct.toSnapshot(), otherFilterProduct.toSnapshot());
+    }
+
+    @Test
+    void isSearchSnapshotNotEqualToFilterSnapshot() {
+        filterProduct.setName("Apple");
+        FilterSnapshot searchSnapshot = filterProduct.toSearchSnapshot();
+        assertTrue(searchSnapshot.getIsSearch());
+        assertEquals(searchSnapshot, filterProduct.toSearchSnapshot());
+        assertNotEquals(searchSnapshot, filterProduct.toSnapshot());
+        assertEquals(filterProduct.toSnapshot(), searchSnapshot.toFilterModel().toSnapshot());
+    }
+
+    @Test
+    void isSnapshotNotChangedWithFilter() {
+        filterProduct.setName("Apple");
+        FilterSnapshot filterSnapshot = filterProduct.toSnapshot();
+        filterProduct.setName("Honey");
+        assertEquals("Apple", filterSnapshot.getName());
+        assertNotEquals(filterSnapshot, filterProduct.toSnapshot());
+    }
+
+    @Test
+    void isSnapshotTurnedBackIntoEqualFilter() {
+        filterProduct.setName("Apple");
+        filterProduct.setIsNameFuzzy(true);
+        filterProduct.setExpirationDateFor("2021-3-7");
+        filterProduct.setVolumeSince(250);
+        filterProduct.setHasSalt(FilterSet.NO);
+        filterProduct.setTaste("Sweet");
+        FilterSnapshot filterSnapshot = filterProduct.toSnapshot();
+        assertEquals(filterSnapshot, filterSnapshot.toFilterModel().toSnapshot());
+    }
+}
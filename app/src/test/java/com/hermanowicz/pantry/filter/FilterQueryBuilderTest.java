@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.filter;
+
+import android.content.Context;
+
+import androidx.room.Room;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.DateConverter;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductGroupKey;
+import com.hermanowicz.pantry.db.product.ProductListItem;
+import com.hermanowicz.pantry.db.product.ProductsDao;
+import com.hermanowicz.pantry.model.ProductGroupListItem;
+import com.hermanowicz.pantry.model.ProductChangeFeed;
+import com.hermanowicz.pantry.model.SimilarProductNames;
+import com.hermanowicz.pantry.util.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class FilterQueryBuilderTest {
+
+    private static final String[] NAMES = {"Apple juice", "apple JAM", "Śliwki", "śliwkowy dżem", "Honey", "Żurek"};
+    private static final String[] NAME_FILTERS = {"apple", "JUICE", "śliw", "ŚLIW", "dżem", "ey", "", "xyz"};
+    private static final String[] TYPES = {"Store products", "Ready meals", "Fruits"};
+    private static final String[] CATEGORIES = {"Juices", "Jams", "Soups"};
+    private static final String[] TASTES = {"Sweet", "Sour", "Sweet and sour", ""};
+    private static final String[] TASTE_FILTERS = {"Sweet", "sweet", "Sour", "our", ""};
+
+    private AppDb appDb;
+    private ProductsDao productsDao;
+    private final Random random = new Random(20210307);
+
+    @Before
+    public void createDb() {
+        Context context = RuntimeEnvironment.systemContext;
+        appDb = Room.inMemoryDatabaseBuilder(context, AppDb.class).allowMainThreadQueries().build();
+        productsDao = appDb.productsDao();
+    }
+
+    @Test
+    public void doesQuerySelectSameProductsAsEveryCondition() {
+        List<Product> productList = new ArrayList<>();
+        for (int counter = 0; 300 > counter; counter++)
+            productList.add(createRandomProduct());
+        productsDao.addProducts(productList);
+        List<Product> storedProductList = productsDao.getAllProductsList();
+
+        for (int counter = 0; 1000 > counter; counter++) {
+            FilterModel filterModel = createRandomFilterModel();
+            List<Product> filteredProductList = new ArrayList<>();
+            for (Product product : storedProductList)
+                if (isProductValid(product, filterModel))
+                    filteredProductList.add(product);
+            int groupedQuantity = 0;
+            List<Integer> memberIds = new ArrayList<>();
+            for (ProductGroupListItem groupProducts : getAllProductGroups(filterModel)) {
+                groupedQuantity += groupProducts.getQuantity();
+                memberIds.addAll(groupProducts.getMemberIdList());
+            }
+            assertThat(groupedQuantity, equalTo(filteredProductList.size()));
+            Collections.sort(memberIds);
+            assertThat(memberIds, equalTo(getSortedIds(filteredProductList)));
+        }
+    }
+
+    @Test
+    public void doPagesMakeUpWholeGroupList() {
+        List<Product> productList = new ArrayList<>();
+        for (int counter = 0; 300 > counter; counter++)
+            productList.add(createRandomProduct());
+        productsDao.addProducts(productList);
+
+        for (int counter = 0; 50 > counter; counter++) {
+            FilterModel filterModel = createRandomFilterModel();
+            List<String> groupList = describeGroups(getAllProductGroups(filterModel));
+            FilterQueryBuilder filterQueryBuilder = FilterQueryBuilder.compile(filterModel);
+            int pageSize = 1 + random.nextInt(10);
+
+            List<ProductGroupListItem> pagedGroupList = new ArrayList<>();
+            List<ProductGroupListItem> page = productsDao.getProductGroupsList(
+                    filterQueryBuilder.buildGroupedPageAfter(null, null, false, pageSize));
+            while (!page.isEmpty()) {
+                pagedGroupList.addAll(page);
+                ProductListItem lastProduct = page.get(page.size() - 1).getProduct();
+                page = productsDao.getProductGroupsList(filterQueryBuilder.buildGroupedPageAfter(
+                        DateConverter.toEpochDay(lastProduct.getExpirationDate()), lastProduct.getId(), false, pageSize));
+            }
+            assertThat(describeGroups(pagedGroupList), equalTo(groupList));
+
+            if (pagedGroupList.isEmpty())
+                continue;
+            List<ProductGroupListItem> reversedGroupList = new ArrayList<>();
+            ProductListItem firstProduct = pagedGroupList.get(pagedGroupList.size() - 1).getProduct();
+            do {
+                page = productsDao.getProductGroupsList(filterQueryBuilder.buildGroupedPageBefore(
+                        DateConverter.toEpochDay(firstProduct.getExpirationDate()), firstProduct.getId(), pageSize));
+                reversedGroupList.addAll(page);
+                if (!page.isEmpty())
+                    firstProduct = page.get(page.size() - 1).getProduct();
+            } while (!page.isEmpty());
+            reversedGroupList.add(0, pagedGroupList.get(pagedGroupList.size() - 1));
+            Collections.reverse(reversedGroupList);
+            assertThat(describeGroups(reversedGroupList), equalTo(groupList));
+        }
+    }
+
+    @Test
+    public void canIFindProductsBySimilarNames() {
+        String[] names = {"Tomato", "Tomatoes", "Tomato paste", "Tomat", "Potato"};
+        int[] weights = {200, 200, 200, 50, 200};
+        List<Product> productList = new ArrayList<>();
+        for (int index = 0; names.length > index; index++) {
+            Product product = new Product();
+            product.setName(names[index]);
+            product.setWeight(weights[index]);
+            product.setGroupKey(ProductGroupKey.generate(product));
+            productList.add(product);
+        }
+        productsDao.addProducts(productList);
+
+        FilterModel filterModel = new FilterModel();
+        filterModel.setName("Tomatoe");
+        filterModel.setIsNameFuzzy(true);
+        filterModel.setWeightSince(100);
+        AppExecutors appExecutors = new AppExecutors(Executors.newSingleThreadExecutor(), Runnable::run);
+        List<String> similarNames = new SimilarProductNames(appDb, appExecutors,
+                new ProductChangeFeed(appDb, appExecutors)).find(filterModel.getName());
+        assertThat(similarNames, equalTo(Arrays.asList("tomato", "tomatoes", "tomat")));
+
+        List<Integer> memberIds = new ArrayList<>();
+        for (ProductGroupListItem groupProducts : productsDao.getProductGroupsList(FilterQueryBuilder.compile(filterModel)
+                .withSimilarNames(similarNames).buildGroupedPageAfter(null, null, false, 10)))
+            memberIds.addAll(groupProducts.getMemberIdList());
+        List<String> foundNames = new ArrayList<>();
+        for (Product product : productsDao.getProductsByIds(memberIds))
+            foundNames.add(product.getName());
+        Collections.sort(foundNames);
+        assertThat(foundNames, equalTo(Arrays.asList("Tomato", "Tomatoes")));
+    }
+
+    private Product createRandomProduct() {
+        Product product = new Product();
+        product.setName(pick(NAMES));
+        product.setTypeOfProduct(pick(TYPES));
+        product.setProductFeatures(pick(CATEGORIES));
+        product.setExpirationDate(createRandomDate());
+        product.setProductionDate(createRandomDate());
+        product.setVolume(random.nextInt(5) * 250);
+        product.setWeight(random.nextInt(5) * 100);
+        product.setHasSugar(random.nextBoolean());
+        product.setHasSalt(random.nextBoolean());
+        product.setIsBio(random.nextBoolean());
+        product.setIsVege(random.nextBoolean());
+        product.setTaste(pick(TASTES));
+        return product;
+    }
+
+    private FilterModel createRandomFilterModel() {
+        FilterModel filterModel = new FilterModel();
+        if (random.nextInt(3) == 0)
+            filterModel.setName(pick(NAME_FILTERS));
+        if (random.nextInt(3) == 0)
+            filterModel.setTypeOfProduct(pick(TYPES));
+        if (random.nextInt(3) == 0)
+            filterModel.setProductCategory(pick(CATEGORIES));
+        if (random.nextInt(3) == 0)
+            filterModel.setExpirationDateSince(createRandomDate());
+        if (random.nextInt(3) == 0)
+            filterModel.setExpirationDateFor(createRandomDate());
+        if (random.nextInt(3) == 0)
+            filterModel.setProductionDateSince(createRandomDate());
+        if (random.nextInt(3) == 0)
+            filterModel.setProductionDateFor(createRandomDate());
+        if (random.nextInt(3) == 0)
+            filterModel.setVolumeSince(random.nextInt(5) * 250);
+        if (random.nextInt(3) == 0)
+            filterModel.setVolumeFor(random.nextInt(5) * 250);
+        if (random.nextInt(3) == 0)
+            filterModel.setWeightSince(random.nextInt(5) * 100);
+        if (random.nextInt(3) == 0)
+            filterModel.setWeightFor(random.nextInt(5) * 100);
+        filterModel.setHasSugar(pick(FilterSet.values()));
+        filterModel.setHasSalt(pick(FilterSet.values()));
+        filterModel.setIsBio(pick(FilterSet.values()));
+        filterModel.setIsVege(pick(FilterSet.values()));
+        if (random.nextInt(3) == 0)
+            filterModel.setTaste(pick(TASTE_FILTERS));
+        return filterModel;
+    }
+
+    private static boolean isProductValid(Product product, FilterModel filterModel) {
+        return (filterModel.getName() == null
+                        || Product.toSearchName(product.getName()).contains(Product.toSearchName(filterModel.getName())))
+                && (filterModel.getTypeOfProduct() == null || product.getTypeOfProduct().equals(filterModel.getTypeOfProduct()))
+                && (filterModel.getProductCategory() == null || product.getProductFeatures().equals(filterModel.getProductCategory()))
+                && isDateAfter(product.getExpirationDate(), filterModel.getExpirationDateSince())
+                && isDateAfter(filterModel.getExpirationDateFor(), product.getExpirationDate())
+                && isDateAfter(product.getProductionDate(), filterModel.getProductionDateSince())
+                && isDateAfter(filterModel.getProductionDateFor(), product.getProductionDate())
+                && (filterModel.getVolumeSince() <= -1 || filterModel.getVolumeSince() <= product.getVolume())
+                && (filterModel.getVolumeFor() <= -1 || filterModel.getVolumeFor() >= product.getVolume())
+                && (filterModel.getWeightSince() <= -1 || filterModel.getWeightSince() <= product.getWeight())
+                && (filterModel.getWeightFor() <= -1 || filterModel.getWeightFor() >= product.getWeight())
+                && isFlagValid(filterModel.getHasSugar(), product.getHasSugar())
+                && isFlagValid(filterModel.getHasSalt(), product.getHasSalt())
+                && isFlagValid(filterModel.getIsBio(), product.getIsBio())
+                && isFlagValid(filterModel.getIsVege(), product.getIsVege())
+                && (filterModel.getTaste() == null || product.getTaste().contains(filterModel.getTaste()));
+    }
+
+    private static boolean isDateAfter(String date, String earlierDate) {
+        Long epochDay = DateConverter.toEpochDay(date);
+        Long earlierEpochDay = DateConverter.toEpochDay(earlierDate);
+        return epochDay == null || earlierEpochDay == null || epochDay > earlierEpochDay;
+    }
+
+    private static boolean isFlagValid(FilterSet set, boolean flag) {
+        return set == FilterSet.DISABLED || (set == FilterSet.YES && flag) || (set == FilterSet.NO && !flag);
+    }
+
+    private String createRandomDate() {
+        if (random.nextInt(5) == 0)
+            return "-";
+        return (2019 + random.nextInt(3)) + "-" + (1 + random.nextInt(12)) + "-" + (1 + random.nextInt(28));
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private List<ProductGroupListItem> getAllProductGroups(FilterModel filterModel) {
+        return productsDao.getProductGroupsList(
+                FilterQueryBuilder.compile(filterModel).buildGroupedPageAfter(null, null, false, Integer.MAX_VALUE));
+    }
+
+    private List<Integer> getSortedIds(List<Product> productList) {
+        List<Integer> ids = new ArrayList<>();
+        for (Product product : productList)
+            ids.add(product.getId());
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private List<String> describeGroups(List<ProductGroupListItem> groupProductsList) {
+        List<String> groupList = new ArrayList<>();
+        for (ProductGroupListItem groupProducts : groupProductsList)
+            groupList.add(groupProducts.getFirstId() + ":" + groupProducts.getQuantity() + ":" + groupProducts.getLastId()
+                    + ":" + groupProducts.getMemberIdList().size());
+        return groupList;
+    }
+
+    @After
+    public void closeDb() {
+        appDb.close();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductNameBkTreeTest {
+
+    private static final String LETTERS = "abcdeilmnoprstuyż ";
+
+    private final Random random = new Random(20210307);
+
+    @Test
+    void canIComputeEditDistance() {
+        ProductNameBkTree nameTree = new ProductNameBkTree();
+
+        assertEquals(0, nameTree.getDistance("tomato", "tomato"));
+        assertEquals(1, nameTree.getDistance("tomatoe", "tomato"));
+        assertEquals(2, nameTree.getDistance("tomatoe", "tomat"));
+        assertEquals(3, nameTree.getDistance("kitten", "sitting"));
+        assertEquals(4, nameTree.getDistance("", "soup"));
+    }
+
+    @Test
+    void areClosestAndMostCommonNamesFirst() {
+        ProductNameBkTree nameTree = new ProductNameBkTree();
+        nameTree.add("tomat", 5);
+        nameTree.add("potato", 5);
+        nameTree.add("tomatoes", 1);
+        nameTree.add("tomato", 1);
+        nameTree.add("tomato", 2);
+        nameTree.add("tomato paste", 4);
+
+        List<ProductNameBkTree.SimilarName> similarNameList = nameTree.search("tomatoe", 2);
+
+        assertEquals(Arrays.asList("tomato 1 3", "tomatoes 1 1", "tomat 2 5"), describe(similarNameList));
+    }
+
+    @Test
+    void doesSearchFindSameNamesAsComparingAllNames() {
+        ProductNameBkTree nameTree = new ProductNameBkTree();
+        Map<String, Integer> nameUnits = new HashMap<>();
+        for (int counter = 0; 2000 > counter; counter++) {
+            String name = createRandomName(3 + random.nextInt(6));
+            int unitCount = 1 + random.nextInt(5);
+            nameTree.add(name, unitCount);
+            nameUnits.merge(name, unitCount, Integer::sum);
+        }
+        assertEquals(nameUnits.size(), nameTree.getNameCount());
+
+        for (int counter = 0; 200 > counter; counter++) {
+            String searchText = createRandomName(3 + random.nextInt(6));
+            int maxDistance = 1 + random.nextInt(2);
+            List<ProductNameBkTree.SimilarName> expectedNameList = new ArrayList<>();
+            for (Map.Entry<String, Integer> nameEntry : nameUnits.entrySet()) {
+                int distance = nameTree.getDistance(searchText, nameEntry.getKey());
+                if (maxDistance >= distance)
+                    expectedNameList.add(new ProductNameBkTree.SimilarName(nameEntry.getKey(), distance, nameEntry.getValue()));
+            }
+            Collections.sort(expectedNameList);
+            assertEquals(describe(expectedNameList), describe(nameTree.search(searchText, maxDistance)));
+        }
+    }
+
+    @Test
+    void doesSearchVisitFewOfManyNames() {
+        ProductNameBkTree nameTree = new ProductNameBkTree();
+        List<String> nameList = new ArrayList<>();
+        while (50000 > nameTree.getNameCount()) {
+            String name = createRandomName(6 + random.nextInt(10));
+            nameTree.add(name, 1);
+            nameList.add(name);
+        }
+
+        long visitedNodeCount = 0;
+        for (int counter = 0; 100 > counter; counter++) {
+            String name = nameList.get(random.nextInt(nameList.size()));
+            List<ProductNameBkTree.SimilarName> similarNameList = nameTree.search(misspell(name), 2);
+            visitedNodeCount += nameTree.getVisitedNodeCount();
+            assertTrue(describe(similarNameList).contains(name + " 1 1"));
+        }
+        long averageVisitedNodeCount = visitedNodeCount / 100;
+        assertTrue(averageVisitedNodeCount < nameTree.getNameCount() / 2,
+                "Search compared " + averageVisitedNodeCount + " names");
+    }
+
+    private String misspell(String name) {
+        int index = random.nextInt(name.length());
+        char letter = LETTERS.charAt(random.nextInt(LETTERS.length()));
+        if (name.charAt(index) == letter)
+            letter = letter == 'a' ? 'b' : 'a';
+        return name.substring(0, index) + letter + name.substring(index + 1);
+    }
+
+    private String createRandomName(int length) {
+        StringBuilder name = new StringBuilder();
+        for (int index = 0; length > index; index++)
+            name.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        return name.toString();
+    }
+
+    private List<String> describe(List<ProductNameBkTree.SimilarName> similarNameList) {
+        List<String> descriptionList = new ArrayList<>();
+        for (ProductNameBkTree.SimilarName similarName : similarNameList)
+            descriptionList.add(similarName.getSearchName() + " " + similarName.getDistance() + " "
+                    + similarName.getUnitCount());
+        return descriptionList;
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hermanowicz.pantry.model;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.paging.PagedList;
+import androidx.room.Room;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductGroupKey;
+import com.hermanowicz.pantry.filter.FilterModel;
+import com.hermanowicz.pantry.filter.FilterQueryBuilder;
+import com.hermanowicz.pantry.util.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+public class MyPantryModelTest {
+
+    private static final String[] NAMES = {"Apple juice", "Apple jam", "Honey", "Raspberry jam"};
+
+    private AppDb appDb;
+    private MyPantryModel model;
+    private final List<LiveData<PagedList<ProductGroupListItem>>> createdLiveDataList = new ArrayList<>();
+
+    @Before
+    public void createModel() {
+        Context context = RuntimeEnvironment.systemContext;
+        appDb = Room.inMemoryDatabaseBuilder(context, AppDb.class).allowMainThreadQueries().build();
+        List<Product> productList = new ArrayList<>();
+        for (String name : NAMES) {
+            Product product = new Product();
+            product.setName(name);
+            product.setGroupKey(ProductGroupKey.generate(product));
+            productList.add(product);
+        }
+        appDb.productsDao().addProducts(productList);
+
+        AppExecutors appExecutors = new AppExecutors(new DirectExecutorService(), Runnable::run);
+        ProductChangeFeed productChangeFeed = new ProductChangeFeed(appDb, appExecutors);
+        model = new MyPantryModel(new PantryRepository(appDb, appExecutors, productChangeFeed,
+                new SimilarProductNames(appDb, appExecutors, productChangeFeed),
+                new ProductGroupPageCache(productChangeFeed)) {
+            @Override
+            public LiveData<PagedList<ProductGroupListItem>> getFilteredProductGroupsLiveData(@NonNull FilterModel filterProduct) {
+                return record(super.getFilteredProductGroupsLiveData(filterProduct));
+            }
+
+            @Override
+            public LiveData<PagedList<ProductGroupListItem>> searchFilteredProductGroupsLiveData(@NonNull FilterModel filterProduct) {
+                return record(super.searchFilteredProductGroupsLiveData(filterProduct));
+            }
+        });
+    }
+
+    private LiveData<PagedList<ProductGroupListItem>> record(@NonNull LiveData<PagedList<ProductGroupListItem>> liveData) {
+        createdLiveDataList.add(liveData);
+        return liveData;
+    }
+
+    @Test
+    public void isOneObserverNotifiedOncePerFilterChange() {
+        LiveData<PagedList<ProductGroupListItem>> productLiveData = model.getProductLiveData();
+        List<PagedList<ProductGroupListItem>> productLists = new ArrayList<>();
+        model.setProductsLiveData();
+        productLiveData.observeForever(productLists::add);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertThat(productLists.size(), equalTo(1));
+        assertThat(productLists.get(0).size(), equalTo(NAMES.length));
+        LiveData<PagedList<ProductGroupListItem>> allProductLiveData = createdLiveDataList.get(0);
+
+        model.filterProductListByName("apple", false);
+        model.filterProductListByName("apple", false);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertThat(productLists.size(), equalTo(2));
+        assertThat(productLists.get(1).size(), equalTo(2));
+        assertThat(createdLiveDataList.size(), equalTo(2));
+        LiveData<PagedList<ProductGroupListItem>> appleLiveData = createdLiveDataList.get(1);
+        assertThat(allProductLiveData.hasObservers(), equalTo(false));
+        assertThat(appleLiveData.hasObservers(), equalTo(true));
+
+        model.searchProductListByName("jam", false);
+        shadowOf(Looper.getMainLooper()).idle();
+        model.filterProductListByName("jam", false);
+        shadowOf(Looper.getMainLooper()).idle();
+        assertThat(productLists.size(), equalTo(3));
+        assertThat(productLists.get(2).size(), equalTo(2));
+        assertThat(createdLiveDataList.size(), equalTo(3));
+        LiveData<PagedList<ProductGroupListItem>> jamLiveData = createdLiveDataList.get(2);
+        assertThat(jamLiveData.hasObservers(), equalTo(true));
+        assertThat(appleLiveData.hasObservers(), equalTo(false));
+
+        model.clearFilters();
+        model.setProductsLiveData();
+        shadowOf(Looper.getMainLooper()).idle();
+        assertThat(productLists.size(), equalTo(4));
+        assertThat(productLists.get(3).size(), equalTo(NAMES.length));
+        assertThat(createdLiveDataList.size(), equalTo(4));
+        assertThat(createdLiveDataList.get(3).hasObservers(), equalTo(true));
+        assertThat(allProductLiveData.hasObservers(), equalTo(false));
+        assertThat(jamLiveData.hasObservers(), equalTo(false));
+        assertThat(model.getProductLiveData(), sameInstance(productLiveData));
+    }
+
+    @Test
+    public void doesGroupStaySelectedWhenListIsLoadedAgain() {
+        model.setGroupProductsList(getAllProductGroups());
+        model.addMultiSelect(0);
+        assertThat(model.getSelectedGroupKeys().size(), equalTo(1));
+
+        List<ProductGroupListItem> groupProductsList = getAllProductGroups();
+        model.setGroupProductsList(groupProductsList);
+        assertThat(model.getSelectedGroupKeys().contains(groupProductsList.get(0).getProduct().getGroupKey()),
+                equalTo(true));
+        model.addMultiSelect(0);
+        assertThat(model.getSelectedGroupKeys().size(), equalTo(0));
+    }
+
+    private List<ProductGroupListItem> getAllProductGroups() {
+        return appDb.productsDao().getProductGroupsList(
+                FilterQueryBuilder.compile(new FilterModel()).buildGroupedPageAfter(null, null, false, Integer.MAX_VALUE));
+    }
+
+    @After
+    public void closeDb() {
+        appDb.close();
+    }
+
+    /**
+     * Runs the loads of the lists on the calling thread, so they are done when the filter is set.
+     */
+    private static final class DirectExecutorService extends AbstractExecutorService {
+
+        private boolean isShutdown = false;
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            isShutdown = true;
+        }
+
+        @NonNull
+        @Override
+        public List<Runnable> shutdownNow() {
+            isShutdown = true;
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return isShutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return isShutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) {
+            return true;
+        }
+    }
+}
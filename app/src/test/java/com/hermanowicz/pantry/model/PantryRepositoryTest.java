@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hermanowicz.pantry.model;
+
+import android.content.Context;
+
+import androidx.room.Room;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.util.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+public class PantryRepositoryTest {
+
+    private static final int PRODUCT_COUNT = 1200;
+
+    private AppDb appDb;
+    private AppExecutors appExecutors;
+    private ProductChangeFeed productChangeFeed;
+    private PantryRepository pantryRepository;
+
+    @Before
+    public void createRepository() {
+        Context context = RuntimeEnvironment.systemContext;
+        appDb = Room.inMemoryDatabaseBuilder(context, AppDb.class).allowMainThreadQueries().build();
+        List<Product> productList = new ArrayList<>();
+        for (int counter = 0; PRODUCT_COUNT > counter; counter++) {
+            Product product = new Product();
+            product.setName("Apple juice");
+            productList.add(product);
+        }
+        appDb.productsDao().addProducts(productList);
+
+        appExecutors = new AppExecutors(Executors.newSingleThreadExecutor(), Runnable::run);
+        productChangeFeed = new ProductChangeFeed(appDb, appExecutors);
+        pantryRepository = new PantryRepository(appDb, appExecutors, productChangeFeed,
+                new SimilarProductNames(appDb, appExecutors, productChangeFeed),
+                new ProductGroupPageCache(productChangeFeed));
+    }
+
+    @Test
+    public void canIDeleteMoreProductsThanOneQueryCanBind() throws Exception {
+        List<Integer> productIds = new ArrayList<>();
+        for (Product product : appDb.productsDao().getAllProductsList())
+            productIds.add(product.getId());
+
+        List<Product> deletedProductList = pantryRepository.deleteProductsByIds(productIds, null).get();
+        assertThat(deletedProductList.size(), equalTo(PRODUCT_COUNT));
+        assertThat(appDb.productsDao().getAllProductsList().size(), equalTo(0));
+    }
+
+    @Test
+    public void canIDeleteLargeProductGroup() throws Exception {
+        int productId = appDb.productsDao().getAllProductsList().get(0).getId();
+
+        List<Product> deletedProductList = pantryRepository.deleteProductGroup(productId, null).get();
+        assertThat(deletedProductList.size(), equalTo(PRODUCT_COUNT));
+        assertThat(appDb.productsDao().getAllProductsList().size(), equalTo(0));
+    }
+
+    @Test
+    public void canIAddEmptyProductList() throws Exception {
+        assertThat(pantryRepository.addProducts(new ArrayList<>(), null).get().size(), equalTo(0));
+        assertThat(appDb.productsDao().getAllProductsList().size(), equalTo(PRODUCT_COUNT));
+    }
+
+    @Test
+    public void isEveryWriteDeliveredAsOneChangeSet() throws Exception {
+        List<ProductChanges> productChangesList = new CopyOnWriteArrayList<>();
+        productChangeFeed.addListener(productChangesList::add);
+        List<Product> productList = new ArrayList<>();
+        for (int counter = 0; 2 > counter; counter++) {
+            Product product = new Product();
+            product.setName("Honey");
+            productList.add(product);
+        }
+        pantryRepository.addProducts(productList.subList(0, 1), null);
+        pantryRepository.addProducts(productList.subList(1, 2), null).get();
+        appExecutors.diskIO().submit(() -> {}).get();
+
+        assertThat(productChangesList.size(), equalTo(2));
+        for (ProductChanges productChanges : productChangesList)
+            assertThat(productChanges.getInsertedProductList().size(), equalTo(1));
+    }
+
+    @After
+    public void closeDb() {
+        appDb.close();
+    }
+}
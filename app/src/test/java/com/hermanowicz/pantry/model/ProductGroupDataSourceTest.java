@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2019-2021
+ * Mateusz Hermanowicz - All rights reserved.
+ * My Pantry
+ * https://www.mypantry.eu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hermanowicz.pantry.model;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.paging.ItemKeyedDataSource;
+import androidx.room.Room;
+
+import com.hermanowicz.pantry.db.AppDb;
+import com.hermanowicz.pantry.db.product.Product;
+import com.hermanowicz.pantry.db.product.ProductGroupKey;
+import com.hermanowicz.pantry.filter.FilterModel;
+import com.hermanowicz.pantry.util.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class ProductGroupDataSourceTest {
+
+    private static final String[] NAMES = {"Tomato", "Tomato paste", "Potato", "Apple juice", "Honey"};
+    private static final String[] TYPED_NAMES = {"t", "to", "tom", "toma", "tomato p"};
+
+    private final AtomicInteger groupedQueryCount = new AtomicInteger();
+    private final AtomicInteger nameCountQueryCount = new AtomicInteger();
+    private AppDb appDb;
+    private AppExecutors appExecutors;
+    private ProductChangeFeed productChangeFeed;
+    private SimilarProductNames similarProductNames;
+    private ProductGroupPageCache productGroupPageCache;
+
+    @Before
+    public void createDb() {
+        Context context = RuntimeEnvironment.systemContext;
+        appDb = Room.inMemoryDatabaseBuilder(context, AppDb.class)
+                .setQueryExecutor(Runnable::run)
+                .setQueryCallback((sqlQuery, bindArgs) -> {
+                    if (sqlQuery.contains("GROUP BY groupKey"))
+                        groupedQueryCount.incrementAndGet();
+                    else if (sqlQuery.contains("GROUP BY searchName"))
+                        nameCountQueryCount.incrementAndGet();
+                }, Runnable::run)
+                .allowMainThreadQueries().build();
+        List<Product> productList = new ArrayList<>();
+        for (int counter = 0; 2000 > counter; counter++) {
+            Product product = new Product();
+            product.setName(NAMES[counter % NAMES.length] + " " + counter % 400);
+            product.setExpirationDate("2021-" + (1 + counter % 12) + "-" + (1 + counter % 28));
+            product.setGroupKey(ProductGroupKey.generate(product));
+            productList.add(product);
+        }
+        appDb.productsDao().addProducts(productList);
+        appExecutors = new AppExecutors(Executors.newSingleThreadExecutor(), Runnable::run);
+        productChangeFeed = new ProductChangeFeed(appDb, appExecutors);
+        productGroupPageCache = new ProductGroupPageCache(productChangeFeed);
+        similarProductNames = new SimilarProductNames(appDb, appExecutors, productChangeFeed);
+    }
+
+    @Test
+    public void doCancelledSearchesLoadNothing() {
+        FilterModel filterModel = new FilterModel();
+        List<ProductGroupDataSource.Factory> factoryList = new ArrayList<>();
+        for (String typedName : TYPED_NAMES) {
+            if (!factoryList.isEmpty())
+                factoryList.get(factoryList.size() - 1).cancel();
+            filterModel.setName(typedName);
+            factoryList.add(createFactory(filterModel));
+        }
+
+        for (int index = 0; factoryList.size() - 1 > index; index++)
+            assertThat(loadFirstPage(factoryList.get(index)).size(), equalTo(0));
+        assertThat(groupedQueryCount.get(), equalTo(0));
+        List<ProductGroupListItem> groupProductsList = loadFirstPage(factoryList.get(factoryList.size() - 1));
+        assertThat(groupProductsList.size(), equalTo(50));
+        assertThat(groupedQueryCount.get(), equalTo(1));
+        for (ProductGroupListItem groupProducts : groupProductsList)
+            assertTrue(groupProducts.getProduct().getName().startsWith("Tomato paste"));
+    }
+
+    @Test
+    public void isFirstPageTakenFromCacheUntilItsProductsChange() throws Exception {
+        FilterModel filterModel = new FilterModel();
+        filterModel.setName("honey");
+        List<ProductGroupListItem> groupProductsList = loadFirstPage(createFactory(filterModel));
+        assertThat(groupedQueryCount.get(), equalTo(1));
+
+        assertThat(loadFirstPage(createFactory(filterModel)).size(), equalTo(groupProductsList.size()));
+        assertThat(groupedQueryCount.get(), equalTo(1));
+
+        appExecutors.diskIO().submit(() -> {}).get();
+        addProduct("2022-1-1");
+        appExecutors.diskIO().submit(() -> {}).get();
+        loadFirstPage(createFactory(filterModel));
+        assertThat(groupedQueryCount.get(), equalTo(1));
+
+        addProduct("2020-1-1");
+        appExecutors.diskIO().submit(() -> {}).get();
+        loadFirstPage(createFactory(filterModel));
+        assertThat(groupedQueryCount.get(), equalTo(2));
+    }
+
+    @Test
+    public void isSourceInvalidatedOnlyByChangesOfLoadedGroups() throws Exception {
+        ProductGroupDataSource dataSource = (ProductGroupDataSource) createFactory(new FilterModel()).create();
+        loadFirstPage(dataSource);
+        appExecutors.diskIO().submit(() -> {}).get();
+
+        addProduct("2022-1-1");
+        appExecutors.diskIO().submit(() -> {}).get();
+        assertFalse(dataSource.isInvalid());
+
+        addProduct("2020-1-1");
+        appExecutors.diskIO().submit(() -> {}).get();
+        assertTrue(dataSource.isInvalid());
+    }
+
+    @Test
+    public void doesCancelledSearchStopListeningToChanges() throws Exception {
+        ProductGroupDataSource.Factory factory = createFactory(new FilterModel());
+        ProductGroupDataSource dataSource = (ProductGroupDataSource) factory.create();
+        loadFirstPage(dataSource);
+        factory.cancel();
+        appExecutors.diskIO().submit(() -> {}).get();
+
+        addProduct("2020-1-1");
+        appExecutors.diskIO().submit(() -> {}).get();
+        assertFalse(dataSource.isInvalid());
+    }
+
+    @Test
+    public void areSimilarNamesUpdatedOffSearchPath() throws Exception {
+        appExecutors.diskIO().submit(() -> {}).get();
+        assertFalse(similarProductNames.find("peper").contains("pepper"));
+        assertThat(nameCountQueryCount.get(), equalTo(1));
+
+        Product product = new Product();
+        product.setName("Pepper");
+        appDb.productsDao().addProducts(Collections.singletonList(product));
+        appExecutors.diskIO().submit(() -> {}).get();
+        assertTrue(similarProductNames.find("peper").contains("pepper"));
+        assertThat(nameCountQueryCount.get(), equalTo(1));
+
+        appDb.productsDao().deleteProductsByIds(Collections.singletonList(appDb.productsDao().getIdLastProduct()));
+        appExecutors.diskIO().submit(() -> {}).get();
+        appExecutors.diskIO().submit(() -> {}).get();
+        assertThat(nameCountQueryCount.get(), equalTo(2));
+        assertFalse(similarProductNames.find("peper").contains("pepper"));
+        assertThat(nameCountQueryCount.get(), equalTo(2));
+    }
+
+    private void addProduct(@NonNull String expirationDate) {
+        Product product = new Product();
+        product.setName("Honey");
+        product.setExpirationDate(expirationDate);
+        product.setGroupKey(ProductGroupKey.generate(product));
+        appDb.productsDao().addProducts(Collections.singletonList(product));
+    }
+
+    private ProductGroupDataSource.Factory createFactory(@NonNull FilterModel filterModel) {
+        return new ProductGroupDataSource.Factory(appDb, productChangeFeed, filterModel, similarProductNames,
+                productGroupPageCache);
+    }
+
+    private List<ProductGroupListItem> loadFirstPage(@NonNull ProductGroupDataSource.Factory factory) {
+        return loadFirstPage((ProductGroupDataSource) factory.create());
+    }
+
+    private List<ProductGroupListItem> loadFirstPage(@NonNull ProductGroupDataSource dataSource) {
+        List<ProductGroupListItem> groupProductsList = new ArrayList<>();
+        dataSource.loadInitial(
+                new ItemKeyedDataSource.LoadInitialParams<>(null, 50, false),
+                new ItemKeyedDataSource.LoadInitialCallback<ProductGroupListItem>() {
+                    @Override
+                    public void onResult(@NonNull List<ProductGroupListItem> data, int position, int totalCount) {
+                        groupProductsList.addAll(data);
+                    }
+
+                    @Override
+                    public void onResult(@NonNull List<ProductGroupListItem> data) {
+                        groupProductsList.addAll(data);
+                    }
+                });
+        return groupProductsList;
+    }
+
+    @After
+    public void closeDb() {
+        appDb.close();
+    }
+}